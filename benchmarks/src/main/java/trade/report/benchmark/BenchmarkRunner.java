@@ -0,0 +1,25 @@
+package trade.report.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. It accepts the standard JMH command line options and always
+ * enables the GC profiler so allocation rates are reported next to the timings.
+ */
+public final class BenchmarkRunner {
+
+  public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+  private BenchmarkRunner() {
+  }
+}
@@ -0,0 +1,98 @@
+package trade.report.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import trade.report.engine.ReportAggregator;
+import trade.report.io.TradeInstructionReader;
+import trade.report.util.InstructionGenerator;
+
+/**
+ * Load test of full report generation at production volumes. Instructions are streamed from an
+ * {@link InstructionGenerator} straight into a {@link ReportAggregator}, and optionally written to
+ * a file that is then aggregated by {@link TradeInstructionReader}. The throughput of every tenth
+ * of the run, the sustained throughput and the peak heap usage are printed for each phase.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar trade.report.benchmark.LoadDriver count [seed [entities [file]]]
+ * </pre>
+ */
+public final class LoadDriver {
+
+  private static final int PROGRESS_STEPS = 10;
+
+  public static void main(final String[] args) throws IOException {
+    final long count = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+    final long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+    final int entities = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+    final InstructionGenerator generator = new InstructionGenerator(seed).entities(entities);
+
+    resetPeakHeapUsage();
+    final ReportAggregator aggregator = new ReportAggregator();
+    final long step = Math.max(1, count / PROGRESS_STEPS);
+    final long[] generated = new long[1];
+    final long[] stepStart = {System.nanoTime()};
+    final long start = stepStart[0];
+    generator.generate(count, tradeInstruction -> {
+      aggregator.add(tradeInstruction);
+      if (++generated[0] % step == 0) {
+        final long now = System.nanoTime();
+        System.out.printf("  %,d instructions, %,.0f instructions/sec%n", generated[0],
+            rate(step, now - stepStart[0]));
+        stepStart[0] = now;
+      }
+    });
+    aggregator.toReport();
+    print("Generated and aggregated", count, System.nanoTime() - start);
+
+    if (args.length > 3) {
+      final Path file = Path.of(args[3]);
+      long phaseStart = System.nanoTime();
+      generator.write(file, count);
+      print("Wrote " + Files.size(file) / (1 << 20) + " MB", count,
+          System.nanoTime() - phaseStart);
+
+      resetPeakHeapUsage();
+      phaseStart = System.nanoTime();
+      TradeInstructionReader.aggregate(file);
+      print("Read and aggregated", count, System.nanoTime() - phaseStart);
+    }
+  }
+
+  private static void print(final String phase, final long count, final long nanos) {
+    System.out.printf("%s %,d instructions in %.2f s: %,.0f instructions/sec, peak heap %,d MB%n",
+        phase, count, nanos / 1e9, rate(count, nanos), peakHeapUsage() / (1 << 20));
+  }
+
+  private static double rate(final long count, final long nanos) {
+    return count / (nanos / 1e9);
+  }
+
+  private static void resetPeakHeapUsage() {
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  /**
+   * The peaks of the heap pools are reached at different times, so their sum bounds the peak heap
+   * usage from above.
+   */
+  private static long peakHeapUsage() {
+    long peak = 0;
+    for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  private LoadDriver() {
+  }
+}
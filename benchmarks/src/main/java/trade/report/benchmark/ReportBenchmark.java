@@ -0,0 +1,157 @@
+package trade.report.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import trade.report.engine.BatchAggregator;
+import trade.report.engine.ParallelBatchAggregator;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.model.EntityTotals;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementReport;
+import trade.report.model.SettlementTotals;
+import trade.report.model.TradeInstruction;
+import trade.report.util.InstructionGenerator;
+import trade.report.util.TradeReportUtility;
+
+/**
+ * Benchmarks of instruction construction, settlement aggregation, ranking and full report
+ * generation over instruction sets from {@link InstructionGenerator}. Each operation processes the
+ * whole set. The 50M instruction sets need a large heap, passed with {@code -jvmArgs}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Instructions {
+
+    @Param({"10000", "1000000", "50000000"})
+    public int size;
+
+    @Param({"5000"})
+    public int entities;
+
+    @Param({"20"})
+    public int fridaySaturdayPercent;
+
+    public List<TradeInstruction> tradeInstructions;
+    public InstructionBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      tradeInstructions = new ArrayList<>(size);
+      generator(entities, fridaySaturdayPercent).generate(size, tradeInstructions::add);
+      batch = InstructionBatch.of(tradeInstructions);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Fields {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"5000"})
+    public int entities;
+
+    @Param({"20"})
+    public int fridaySaturdayPercent;
+
+    public String[][] fields;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      final Path path = Files.createTempFile("instructions", ".csv");
+      try {
+        generator(entities, fridaySaturdayPercent).write(path, size);
+        try (Stream<String> lines = Files.lines(path)) {
+          fields = lines.filter(line -> !line.startsWith("#"))
+              .map(line -> line.split(","))
+              .toArray(String[][]::new);
+        }
+      } finally {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private static InstructionGenerator generator(final int entities,
+      final int fridaySaturdayPercent) {
+    return new InstructionGenerator(42L).entities(entities)
+        .fridaySaturdayPercent(fridaySaturdayPercent);
+  }
+
+  @Benchmark
+  public void constructTradeInstructions(final Fields state, final Blackhole blackhole) {
+    for (final String[] fields : state.fields) {
+      blackhole.consume(new TradeInstruction(fields[0], fields[1], Double.parseDouble(fields[2]),
+          fields[3], fields[4], fields[5], Integer.parseInt(fields[6]),
+          Double.parseDouble(fields[7])));
+    }
+  }
+
+  @Benchmark
+  public Map<?, Double> calculateUSDSettlements(final Instructions state) {
+    return TradeReportUtility.calculateUSDSettlements(state.tradeInstructions, InstructionType.BUY);
+  }
+
+  @Benchmark
+  public List<Map.Entry<String, Double>> calculateRankings(final Instructions state) {
+    return TradeReportUtility.calculateRankings(state.tradeInstructions, InstructionType.BUY);
+  }
+
+  @Benchmark
+  public List<Map.Entry<String, Double>> calculateTopRankings(final Instructions state) {
+    return TradeReportUtility.calculateTopRankings(state.tradeInstructions, InstructionType.BUY,
+        50);
+  }
+
+  @Benchmark
+  public SettlementTotals batchUSDSettlements(final Instructions state) {
+    return BatchAggregator.calculateUSDSettlements(state.batch, InstructionType.BUY);
+  }
+
+  @Benchmark
+  public Map<InstructionType, SettlementTotals> batchAllTypeUSDSettlements(
+      final Instructions state) {
+    return BatchAggregator.calculateUSDSettlements(state.batch);
+  }
+
+  @Benchmark
+  public EntityTotals batchTopRankings(final Instructions state) {
+    return BatchAggregator.calculateTopRankings(state.batch, InstructionType.BUY, 50);
+  }
+
+  @Benchmark
+  public SettlementTotals parallelUSDSettlements(final Instructions state) {
+    return new ParallelBatchAggregator().calculateUSDSettlements(state.batch, InstructionType.BUY);
+  }
+
+  @Benchmark
+  public SettlementReport fullReport(final Instructions state) {
+    return ReportAggregator.aggregate(state.tradeInstructions);
+  }
+}
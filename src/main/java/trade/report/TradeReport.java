@@ -2,13 +2,26 @@ package trade.report;
 
 
 
-import static trade.report.util.TradeReportUtility.dateFormatter;
-
-import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import trade.report.enums.InstructionType;
-import trade.report.model.TradeInstruction;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import trade.report.calendar.HolidayFileLoader;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.calendar.TableSettlementCalendar;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.PipelineStage;
+import trade.report.enums.ReportFormat;
+import trade.report.io.BinaryInstructionReader;
+import trade.report.io.PipelinedReportRunner;
+import trade.report.io.ReportCheckpoint;
+import trade.report.io.TradeInstructionReader;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.model.SettlementReport;
+import trade.report.output.ReportRenderer;
+import trade.report.output.ReportWriter;
 import trade.report.util.TradeReportUtility;
 
 /**
@@ -16,48 +29,82 @@ import trade.report.util.TradeReportUtility;
  */
 public class TradeReport {
 
-    public static void main(String[] args) {
-
-        final List<TradeInstruction> tradeDetails = TradeReportUtility.getTradeInstructions();
-
-        final Map<LocalDate, Double> outgoingSettlements = TradeReportUtility.calculateUSDSettlements(tradeDetails, InstructionType.BUY);
-
-        final Map<LocalDate, Double> incomingSettlements = TradeReportUtility.calculateUSDSettlements(tradeDetails, InstructionType.SELL);
-
-        final List<Map.Entry<String, Double>> outgoingRankings = TradeReportUtility.calculateRankings(tradeDetails, InstructionType.BUY);
-
-        final List<Map.Entry<String, Double>> incomingRankings = TradeReportUtility.calculateRankings(tradeDetails, InstructionType.SELL);
-
-        System.out.println("### Outgoing USD Settlements for dates ###");
-        for (Map.Entry<LocalDate, Double> entry : outgoingSettlements.entrySet()) {
-            final String date = entry.getKey().format(dateFormatter);
-            final double amount = entry.getValue();
-            System.out.println(String.format("%s - $(%.2f)", date, amount));
+    /**
+     * Generates the report from the instruction file given as the first argument, or from the
+     * sample instructions when no file is given. An optional second argument names a holiday file
+     * used to settle the instructions. Files ending in {@code .bin} are read as binary instruction
+     * files, whose actual settlement dates were fixed when they were written. The system properties
+     * {@code report.format} (text, csv or json) and {@code report.output} (a file path) select how
+     * and where the report is written. With {@code report.metrics=true} the pipeline metrics are
+     * published over JMX and printed to standard error at the end of the run, and with
+     * {@code report.pipeline=true} text instruction files are read, settled and aggregated in
+     * overlapping stages. With {@code report.partial} set to a file path the totals of the
+     * instructions are saved there as a partial report instead of being written, and when every
+     * argument ends in {@code .part} the partial reports are merged into one report. With
+     * {@code report.checkpoint} set to a file path the totals are restored from that checkpoint,
+     * only the lines appended since it was saved are read, and the checkpoint is saved again.
+     */
+    public static void main(String[] args) throws IOException {
+        if (PipelineMetrics.ENABLED) {
+            PipelineMetrics.registerMBean();
         }
-        System.out.println("### End of Outgoing USD Settlements ###");
-        System.out.println(" ");
-        System.out.println("### Incoming USD Settlements for dates ###");
-        for (Map.Entry<LocalDate, Double> entry : incomingSettlements.entrySet()) {
-            final String date = entry.getKey().format(dateFormatter);
-            final double amount = entry.getValue();
-            System.out.println(String.format("%s - $(%.2f)", date, amount));
+
+        final String partial = System.getProperty("report.partial");
+        final SettlementReport report;
+        if (args.length > 0 && args[0].endsWith(".bin")) {
+            if (partial != null) {
+                throw new IllegalArgumentException(
+                    "Partial reports can only be written for text instruction files.");
+            }
+            report = BinaryInstructionReader.open(Path.of(args[0])).aggregate();
+        } else {
+            final ReportAggregator aggregator;
+            if (args.length > 0 && Arrays.stream(args).allMatch(arg -> arg.endsWith(".part"))) {
+                aggregator = ReportAggregator.merge(
+                    Arrays.stream(args).map(Path::of).collect(Collectors.toList()));
+            } else if (args.length > 0) {
+                final SettlementCalendar settlementCalendar = args.length > 1
+                    ? TableSettlementCalendar.forHolidays(HolidayFileLoader.load(Path.of(args[1])))
+                    : WeekendSettlementCalendar.INSTANCE;
+                final String checkpoint = System.getProperty("report.checkpoint");
+                if (checkpoint != null) {
+                    final ReportCheckpoint restored = ReportCheckpoint.restore(Path.of(checkpoint));
+                    restored.ingest(Path.of(args[0]), settlementCalendar);
+                    restored.save(Path.of(checkpoint));
+                    aggregator = restored.getAggregator();
+                } else {
+                    aggregator = Boolean.getBoolean("report.pipeline")
+                        ? new PipelinedReportRunner(settlementCalendar,
+                            PipelinedReportRunner.DEFAULT_BATCH_SIZE,
+                            Math.max(1, Runtime.getRuntime().availableProcessors() - 2),
+                            PipelinedReportRunner.DEFAULT_QUEUE_CAPACITY)
+                            .accumulate(Path.of(args[0]))
+                        : TradeInstructionReader.accumulate(Path.of(args[0]), settlementCalendar);
+                }
+            } else {
+                aggregator = new ReportAggregator();
+                TradeReportUtility.getTradeInstructions().forEach(aggregator::add);
+            }
+            if (partial != null) {
+                aggregator.save(Path.of(partial));
+                return;
+            }
+            report = aggregator.toReport();
         }
-        System.out.println("### End of Incoming USD Settlements ###");
-        System.out.println("         ");
-        System.out.println("### Ranking of Entities based on Outgoing USD Settlements ### ");
-        int ranking = 1;
-        for(Map.Entry<String,Double> entry : outgoingRankings) {
-            System.out.println(String.format("%d) %s $(%.2f)", ranking ++, entry.getKey(), entry.getValue()));
+
+        final ReportRenderer renderer = ReportFormat.fromName(
+            System.getProperty("report.format", ReportFormat.TEXT.name())).createRenderer();
+        final String output = System.getProperty("report.output");
+        try (Span span = PipelineMetrics.span(PipelineStage.OUTPUT);
+            ReportWriter writer = output == null ? ReportWriter.of(System.out)
+                : ReportWriter.open(Path.of(output))) {
+            span.items(report.getRowCount());
+            renderer.render(report, writer);
         }
-        System.out.println("### End of Ranking of Outgoing USD Settlements ###            ");
 
-        System.out.println("         ");
-        System.out.println("### Ranking of Entities based on Incoming USD Settlements ### ");
-        ranking = 1;
-        for(Map.Entry<String,Double> entry : incomingRankings) {
-            System.out.println(String.format("%d) %s $(%.2f)", ranking ++, entry.getKey(), entry.getValue()));
+        if (PipelineMetrics.ENABLED) {
+            System.err.println(PipelineMetrics.global().dump());
         }
-        System.out.println("### End of Ranking of Incoming USD Settlements ### ");
     }
 
 }
\ No newline at end of file
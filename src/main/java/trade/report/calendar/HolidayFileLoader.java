@@ -0,0 +1,63 @@
+package trade.report.calendar;
+
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class loads currency holidays from a local file. Each line holds a currency and a date in
+ * the "dd MMM yyyy" format separated by a comma, for example {@code AED,02 Dec 2016}. Blank lines
+ * and lines starting with {@code #} are skipped.
+ */
+public final class HolidayFileLoader {
+
+  /**
+   * This method reads the holidays of every currency in the given file.
+   *
+   * @param path - path of the holiday file
+   * @return holidays for each currency.
+   * @throws IOException if the file cannot be read
+   */
+  public static Map<String, Set<LocalDate>> load(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    final Map<String, Set<LocalDate>> holidays = new HashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      long lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank() || line.charAt(0) == '#') {
+          continue;
+        }
+        final int comma = line.indexOf(',');
+        if (comma < 0) {
+          throw new IllegalArgumentException(
+              "Invalid holiday at line " + lineNumber + ": expected currency and date");
+        }
+        try {
+          final LocalDate date = LocalDate.parse(line.substring(comma + 1).trim(), dateFormatter);
+          holidays.computeIfAbsent(line.substring(0, comma).trim(), currency -> new TreeSet<>())
+              .add(date);
+        } catch (DateTimeParseException e) {
+          throw new IllegalArgumentException(
+              "Invalid holiday at line " + lineNumber + ": " + e.getMessage(), e);
+        }
+      }
+    }
+    return holidays;
+  }
+
+  private HolidayFileLoader() {
+  }
+}
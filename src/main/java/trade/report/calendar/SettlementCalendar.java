@@ -0,0 +1,50 @@
+package trade.report.calendar;
+
+import java.time.LocalDate;
+import trade.report.util.SymbolTable;
+
+/**
+ * Calendar deciding the working day on which an instructed settlement can actually take place.
+ */
+public interface SettlementCalendar {
+
+  /**
+   * This method calculates the working day when settlement can take place based on the instructed
+   * settlement date and currency.
+   *
+   * @param instructedEpochDay - date instructed for settlement as days since 1970-01-01
+   * @param currency           - currency of the trade
+   * @return actual settlement date as days since 1970-01-01.
+   */
+  long actualSettlementEpochDay(long instructedEpochDay, String currency);
+
+  /**
+   * This method calculates the working day when settlement can take place for a currency already
+   * encoded in a symbol table, so calendars can use the metadata attached to the currency id.
+   *
+   * @param instructedEpochDay - date instructed for settlement as days since 1970-01-01
+   * @param currencyId         - id of the currency of the trade
+   * @param symbolTable        - table the currency id belongs to
+   * @return actual settlement date as days since 1970-01-01.
+   */
+  default long actualSettlementEpochDay(final long instructedEpochDay, final int currencyId,
+      final SymbolTable symbolTable) {
+    return actualSettlementEpochDay(instructedEpochDay, symbolTable.getCurrency(currencyId));
+  }
+
+  /**
+   * This method calculates the working day when settlement can take place based on the instructed
+   * settlement date and currency.
+   *
+   * @param instructedSettlementDate - date instructed by the client for settlement of trade
+   * @param currency                 - currency of the trade
+   * @return actual date when settlement will take place.
+   */
+  default LocalDate actualSettlementDate(final LocalDate instructedSettlementDate,
+      final String currency) {
+    final long instructedEpochDay = instructedSettlementDate.toEpochDay();
+    final long actualEpochDay = actualSettlementEpochDay(instructedEpochDay, currency);
+    return actualEpochDay == instructedEpochDay ? instructedSettlementDate
+        : LocalDate.ofEpochDay(actualEpochDay);
+  }
+}
@@ -0,0 +1,140 @@
+package trade.report.calendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import trade.report.enums.WeekendConvention;
+import trade.report.util.SymbolTable;
+
+/**
+ * Settlement calendar that precomputes, for a horizon of dates, the actual settlement day of every
+ * instructed day. One table is built per weekend convention and one per currency with holidays, so
+ * resolving a settlement date inside the horizon is a single array lookup. Dates outside the
+ * horizon are resolved by rolling forward day by day with the same rules.
+ */
+public final class TableSettlementCalendar implements SettlementCalendar {
+
+  private final long horizonStart;
+  private final Map<WeekendConvention, int[]> conventionTables =
+      new EnumMap<>(WeekendConvention.class);
+  private final Map<String, int[]> currencyTables = new HashMap<>();
+  private final Map<String, long[]> holidays = new HashMap<>();
+
+  /**
+   * @param horizonStart       first instructed date covered by the lookup tables
+   * @param horizonEnd         last instructed date covered by the lookup tables
+   * @param holidaysByCurrency holidays on which each currency cannot settle
+   */
+  public TableSettlementCalendar(final LocalDate horizonStart, final LocalDate horizonEnd,
+      final Map<String, ? extends Set<LocalDate>> holidaysByCurrency) {
+    Objects.requireNonNull(horizonStart, "Horizon start should be provided.");
+    Objects.requireNonNull(horizonEnd, "Horizon end should be provided.");
+    Objects.requireNonNull(holidaysByCurrency, "Holidays should be provided.");
+    if (horizonEnd.isBefore(horizonStart)) {
+      throw new IllegalArgumentException("Horizon end should not be before horizon start.");
+    }
+    this.horizonStart = horizonStart.toEpochDay();
+    final int length = Math.toIntExact(horizonEnd.toEpochDay() - this.horizonStart + 1);
+
+    for (final WeekendConvention convention : WeekendConvention.values()) {
+      conventionTables.put(convention, buildTable(length, convention, new long[0]));
+    }
+    holidaysByCurrency.forEach((currency, dates) -> {
+      final long[] epochDays = dates.stream().mapToLong(LocalDate::toEpochDay).sorted().toArray();
+      holidays.put(currency, epochDays);
+      currencyTables.put(currency,
+          buildTable(length, WeekendConvention.forCurrency(currency), epochDays));
+    });
+  }
+
+  /**
+   * Creates a calendar with weekend rules only, precomputed over the given horizon.
+   */
+  public TableSettlementCalendar(final LocalDate horizonStart, final LocalDate horizonEnd) {
+    this(horizonStart, horizonEnd, Map.of());
+  }
+
+  /**
+   * This method creates a calendar for the given holidays, precomputed from the year before the
+   * first holiday to the year after the last one.
+   *
+   * @param holidaysByCurrency - holidays on which each currency cannot settle
+   * @return calendar covering the years of the holidays.
+   */
+  public static TableSettlementCalendar forHolidays(
+      final Map<String, ? extends Set<LocalDate>> holidaysByCurrency) {
+    Objects.requireNonNull(holidaysByCurrency, "Holidays should be provided.");
+    final LocalDate today = LocalDate.now();
+    final LocalDate first = holidaysByCurrency.values().stream().flatMap(Set::stream)
+        .min(LocalDate::compareTo).orElse(today);
+    final LocalDate last = holidaysByCurrency.values().stream().flatMap(Set::stream)
+        .max(LocalDate::compareTo).orElse(today);
+    return new TableSettlementCalendar(first.minusYears(1).withDayOfYear(1),
+        last.plusYears(1).withMonth(12).withDayOfMonth(31), holidaysByCurrency);
+  }
+
+  @Override
+  public long actualSettlementEpochDay(final long instructedEpochDay, final String currency) {
+    return actualSettlementEpochDay(instructedEpochDay, currency,
+        WeekendConvention.forCurrency(currency));
+  }
+
+  @Override
+  public long actualSettlementEpochDay(final long instructedEpochDay, final int currencyId,
+      final SymbolTable symbolTable) {
+    return actualSettlementEpochDay(instructedEpochDay, symbolTable.getCurrency(currencyId),
+        symbolTable.getWeekendConvention(currencyId));
+  }
+
+  private long actualSettlementEpochDay(final long instructedEpochDay, final String currency,
+      final WeekendConvention convention) {
+    // Weekend-only calendars skip the currency lookup.
+    int[] table = currencyTables.isEmpty() ? null : currencyTables.get(currency);
+    if (table == null) {
+      table = conventionTables.get(convention);
+    }
+    final long index = instructedEpochDay - horizonStart;
+    if (index >= 0 && index < table.length) {
+      return table[(int) index];
+    }
+    return rollForward(instructedEpochDay, convention,
+        holidays.getOrDefault(currency, new long[0]));
+  }
+
+  /**
+   * This method fills the table from the end of the horizon backwards: a working day settles on
+   * itself and any other day settles on the same day as the day after it.
+   */
+  private int[] buildTable(final int length, final WeekendConvention convention,
+      final long[] holidayEpochDays) {
+    final int[] table = new int[length];
+    for (int i = length - 1; i >= 0; i--) {
+      final long epochDay = horizonStart + i;
+      if (isWorkingDay(epochDay, convention, holidayEpochDays)) {
+        table[i] = Math.toIntExact(epochDay);
+      } else {
+        table[i] = i == length - 1
+            ? Math.toIntExact(rollForward(epochDay, convention, holidayEpochDays))
+            : table[i + 1];
+      }
+    }
+    return table;
+  }
+
+  private static long rollForward(long epochDay, final WeekendConvention convention,
+      final long[] holidayEpochDays) {
+    while (!isWorkingDay(epochDay, convention, holidayEpochDays)) {
+      epochDay++;
+    }
+    return epochDay;
+  }
+
+  private static boolean isWorkingDay(final long epochDay, final WeekendConvention convention,
+      final long[] holidayEpochDays) {
+    return !convention.isWeekend(epochDay) && Arrays.binarySearch(holidayEpochDays, epochDay) < 0;
+  }
+}
@@ -0,0 +1,37 @@
+package trade.report.calendar;
+
+import java.time.LocalDate;
+import trade.report.util.SymbolTable;
+
+/**
+ * Settlement calendar that only moves settlements off the weekend of the currency, with no
+ * holidays. This is the calendar used when none is configured.
+ *
+ * <p>Settlement days from {@value #FIRST_YEAR} to {@value #LAST_YEAR} are precomputed in the tables
+ * of a {@link TableSettlementCalendar}, so resolving them is a single array lookup; dates outside
+ * those years are rolled forward day by day.
+ */
+public final class WeekendSettlementCalendar implements SettlementCalendar {
+
+  static final int FIRST_YEAR = 2000;
+  static final int LAST_YEAR = 2099;
+
+  public static final WeekendSettlementCalendar INSTANCE = new WeekendSettlementCalendar();
+
+  private final TableSettlementCalendar table = new TableSettlementCalendar(
+      LocalDate.of(FIRST_YEAR, 1, 1), LocalDate.of(LAST_YEAR, 12, 31));
+
+  private WeekendSettlementCalendar() {
+  }
+
+  @Override
+  public long actualSettlementEpochDay(final long instructedEpochDay, final String currency) {
+    return table.actualSettlementEpochDay(instructedEpochDay, currency);
+  }
+
+  @Override
+  public long actualSettlementEpochDay(final long instructedEpochDay, final int currencyId,
+      final SymbolTable symbolTable) {
+    return table.actualSettlementEpochDay(instructedEpochDay, currencyId, symbolTable);
+  }
+}
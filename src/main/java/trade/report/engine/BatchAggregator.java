@@ -0,0 +1,291 @@
+package trade.report.engine;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import trade.report.enums.InstructionType;
+import trade.report.model.EntityTotals;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementTotals;
+import trade.report.util.TopKSelector;
+
+/**
+ * This class defines the columnar equivalents of the trade report calculations. They run over an
+ * {@link InstructionBatch} with primitive accumulators indexed by epoch day or entity id, so no
+ * values are boxed while aggregating. Amounts are summed in fixed point with overflow checks, so the
+ * totals are exact.
+ */
+public final class BatchAggregator {
+
+  /**
+   * Largest span of settlement dates, in days, accumulated into a dense array. Wider spans are
+   * aggregated by sorting instead.
+   */
+  private static final int DENSE_DAY_LIMIT = 1 << 22;
+
+  /**
+   * This method calculates the incoming or outgoing amount settled in USD on different dates.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD settlement totals ordered by settlement date.
+   */
+  public static SettlementTotals calculateUSDSettlements(final InstructionBatch batch,
+      final InstructionType instructionType) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    return toSettlementTotals(sumByDay(batch, instructionType, 0, batch.size()));
+  }
+
+  /**
+   * This method calculates the amounts settled in USD on different dates for every instruction
+   * type in a single pass over the batch. Each instruction is added to a slot chosen by its type
+   * and settlement date, so the loop has no branch on the type and reads each column once. The
+   * pass runs on the vector kernel when it is available, see {@link SettlementKernel}.
+   *
+   * @param batch - batch of trade instructions
+   * @return USD settlement totals ordered by settlement date for each instruction type.
+   */
+  public static Map<InstructionType, SettlementTotals> calculateUSDSettlements(
+      final InstructionBatch batch) {
+    return calculateUSDSettlements(batch, SettlementKernel.INSTANCE);
+  }
+
+  static Map<InstructionType, SettlementTotals> calculateUSDSettlements(
+      final InstructionBatch batch, final SettlementKernel kernel) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    final int size = batch.size();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    int minDay = Integer.MAX_VALUE;
+    int maxDay = Integer.MIN_VALUE;
+    for (int i = 0; i < size; i++) {
+      minDay = Math.min(minDay, epochDays[i]);
+      maxDay = Math.max(maxDay, epochDays[i]);
+    }
+
+    final Map<InstructionType, SettlementTotals> settlements =
+        new EnumMap<>(InstructionType.class);
+    final long span = size == 0 ? 0 : (long) maxDay - minDay + 1;
+    if (span > DENSE_DAY_LIMIT) {
+      for (final InstructionType instructionType : InstructionType.values()) {
+        settlements.put(instructionType, calculateUSDSettlements(batch, instructionType));
+      }
+      return settlements;
+    }
+
+    final byte[] types = batch.instructionTypes();
+    final int days = (int) span;
+    final long[] sums = new long[InstructionType.values().length * days];
+    if (!kernel.sumByTypeAndDay(batch, minDay, days, sums)) {
+      ScalarSettlementKernel.INSTANCE.sumByTypeAndDay(batch, minDay, days, sums);
+    }
+    final boolean[] present = new boolean[sums.length];
+    for (int i = 0; i < size; i++) {
+      present[types[i] * days + epochDays[i] - minDay] = true;
+    }
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final int offset = instructionType.ordinal() * days;
+      int count = 0;
+      for (int slot = offset; slot < offset + days; slot++) {
+        if (present[slot]) {
+          count++;
+        }
+      }
+      final int[] keys = new int[count];
+      final long[] amounts = new long[count];
+      for (int slot = offset, j = 0; slot < offset + days; slot++) {
+        if (present[slot]) {
+          keys[j] = minDay + slot - offset;
+          amounts[j++] = sums[slot];
+        }
+      }
+      settlements.put(instructionType, new SettlementTotals(keys, amounts));
+    }
+    return settlements;
+  }
+
+  /**
+   * This method calculates the rankings of the entities based on incoming or outgoing amounts. The
+   * USD amounts are first summed per entity, so each entity appears once, and the entities are then
+   * ordered by descending total. Entities with equal totals keep the order in which they first
+   * appeared.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD totals per entity in ranking order.
+   */
+  public static EntityTotals calculateRankings(final InstructionBatch batch,
+      final InstructionType instructionType) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    return toEntityTotals(batch, sumByEntity(batch, instructionType, 0, batch.size()),
+        Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method calculates the top entities based on incoming or outgoing amounts. The USD amounts
+   * are summed per entity and only the highest totals are selected, without sorting all entities.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param limit           - largest number of entities to return
+   * @return USD totals of the top entities in ranking order.
+   */
+  public static EntityTotals calculateTopRankings(final InstructionBatch batch,
+      final InstructionType instructionType, final int limit) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    return toEntityTotals(batch, sumByEntity(batch, instructionType, 0, batch.size()), limit);
+  }
+
+  /**
+   * This method sums the USD amounts of the given type per settlement date over a range of the
+   * batch.
+   *
+   * @return totals keyed by epoch day.
+   */
+  static KeyedTotals sumByDay(final InstructionBatch batch, final InstructionType instructionType,
+      final int from, final int to) {
+    final byte type = (byte) instructionType.ordinal();
+    final byte[] types = batch.instructionTypes();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+
+    int minDay = Integer.MAX_VALUE;
+    int maxDay = Integer.MIN_VALUE;
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (types[i] == type) {
+        minDay = Math.min(minDay, epochDays[i]);
+        maxDay = Math.max(maxDay, epochDays[i]);
+        count++;
+      }
+    }
+    if (count == 0) {
+      return KeyedTotals.EMPTY;
+    }
+    final long span = (long) maxDay - minDay + 1;
+    return span <= DENSE_DAY_LIMIT
+        ? sumByDenseDay(batch, type, from, to, minDay, (int) span)
+        : sumBySortedDay(batch, type, from, to, count);
+  }
+
+  private static KeyedTotals sumByDenseDay(final InstructionBatch batch, final byte type,
+      final int from, final int to, final int minDay, final int span) {
+    final byte[] types = batch.instructionTypes();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    final long[] sums = new long[span];
+    final boolean[] present = new boolean[span];
+    int days = 0;
+    for (int i = from; i < to; i++) {
+      if (types[i] == type) {
+        final int slot = epochDays[i] - minDay;
+        sums[slot] = Math.addExact(sums[slot], usdAmounts[i]);
+        if (!present[slot]) {
+          present[slot] = true;
+          days++;
+        }
+      }
+    }
+
+    final int[] keys = new int[days];
+    final long[] amounts = new long[days];
+    for (int slot = 0, j = 0; slot < span; slot++) {
+      if (present[slot]) {
+        keys[j] = minDay + slot;
+        amounts[j++] = sums[slot];
+      }
+    }
+    return new KeyedTotals(keys, amounts);
+  }
+
+  private static KeyedTotals sumBySortedDay(final InstructionBatch batch, final byte type,
+      final int from, final int to, final int count) {
+    final byte[] types = batch.instructionTypes();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    // Sorting on (day, index) groups each date while keeping the instruction order within it.
+    final long[] sortKeys = new long[count];
+    for (int i = from, j = 0; i < to; i++) {
+      if (types[i] == type) {
+        sortKeys[j++] = ((long) epochDays[i] << 32) | i;
+      }
+    }
+    Arrays.sort(sortKeys);
+
+    final int[] keys = new int[count];
+    final long[] amounts = new long[count];
+    int days = -1;
+    for (final long sortKey : sortKeys) {
+      final int day = (int) (sortKey >> 32);
+      final int index = (int) sortKey;
+      if (days < 0 || keys[days] != day) {
+        keys[++days] = day;
+      }
+      amounts[days] = Math.addExact(amounts[days], usdAmounts[index]);
+    }
+    return new KeyedTotals(Arrays.copyOf(keys, days + 1), Arrays.copyOf(amounts, days + 1));
+  }
+
+  /**
+   * This method sums the USD amounts of the given type per entity over a range of the batch.
+   *
+   * @return totals keyed by entity id.
+   */
+  static KeyedTotals sumByEntity(final InstructionBatch batch,
+      final InstructionType instructionType, final int from, final int to) {
+    final byte type = (byte) instructionType.ordinal();
+    final byte[] types = batch.instructionTypes();
+    final int[] entityIds = batch.entityIds();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    final long[] sums = new long[batch.getEntityNames().size()];
+    final boolean[] present = new boolean[sums.length];
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (types[i] == type) {
+        final int entity = entityIds[i];
+        sums[entity] = Math.addExact(sums[entity], usdAmounts[i]);
+        if (!present[entity]) {
+          present[entity] = true;
+          count++;
+        }
+      }
+    }
+
+    final int[] keys = new int[count];
+    final long[] amounts = new long[count];
+    for (int entity = 0, j = 0; entity < present.length; entity++) {
+      if (present[entity]) {
+        keys[j] = entity;
+        amounts[j++] = sums[entity];
+      }
+    }
+    return new KeyedTotals(keys, amounts);
+  }
+
+  static SettlementTotals toSettlementTotals(final KeyedTotals totals) {
+    return new SettlementTotals(totals.keys, totals.amounts);
+  }
+
+  /**
+   * This method orders entity totals by descending amount and keeps at most the given number of
+   * them. Entity ids are assigned in order of first appearance, so entities with equal totals keep
+   * that order.
+   */
+  static EntityTotals toEntityTotals(final InstructionBatch batch, final KeyedTotals totals,
+      final int limit) {
+    final int[] positions = TopKSelector.select(totals.amounts, totals.size(), limit);
+    final int[] entityIds = new int[positions.length];
+    final long[] amounts = new long[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      entityIds[i] = totals.keys[positions[i]];
+      amounts[i] = totals.amounts[positions[i]];
+    }
+    return new EntityTotals(batch.getEntityNames(), entityIds, amounts);
+  }
+
+  private BatchAggregator() {
+  }
+}
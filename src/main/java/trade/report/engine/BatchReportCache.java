@@ -0,0 +1,152 @@
+package trade.report.engine;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementReport;
+import trade.report.util.StringDictionary;
+
+/**
+ * This class caches the converted and aggregated totals of instruction batches, so a report that
+ * is generated again over a mostly unchanged book only aggregates the batches that changed. The
+ * totals of a batch are keyed by the batch itself and remembered together with its version; adding
+ * instructions to a batch or correcting an exchange rate with
+ * {@link InstructionBatch#correctAgreedFx(int, int, double)} changes the version, and the totals
+ * are aggregated again the next time a report needs them.
+ *
+ * <p>At most the given number of batches are cached. When the cache is full the batch used least
+ * recently is evicted. All methods are synchronized, so reports may be generated from different
+ * threads.
+ */
+public final class BatchReportCache {
+
+  private final int maximumBatches;
+  private final Map<InstructionBatch, CachedTotals> cachedTotals;
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * @param maximumBatches largest number of batches whose totals are cached
+   */
+  public BatchReportCache(final int maximumBatches) {
+    if (maximumBatches < 1) {
+      throw new IllegalArgumentException("Maximum number of batches should be positive.");
+    }
+    this.maximumBatches = maximumBatches;
+    this.cachedTotals = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<InstructionBatch, CachedTotals> eldest) {
+        return size() > BatchReportCache.this.maximumBatches;
+      }
+    };
+  }
+
+  /**
+   * This method generates the settlement report of the given batches, ranking every entity.
+   *
+   * @param batches - instruction batches making up the book
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport report(final List<InstructionBatch> batches) {
+    return report(batches, Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method generates the settlement report of the given batches, reusing the cached totals of
+   * every batch that has not changed since it was last aggregated.
+   *
+   * @param batches      - instruction batches making up the book
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public synchronized SettlementReport report(final List<InstructionBatch> batches,
+      final int rankingLimit) {
+    Objects.requireNonNull(batches, "Instruction batches should not be null.");
+    final ReportAggregator aggregator = new ReportAggregator();
+    for (final InstructionBatch batch : batches) {
+      aggregator.merge(totals(batch));
+    }
+    return aggregator.toReport(rankingLimit);
+  }
+
+  private ReportAggregator totals(final InstructionBatch batch) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    final CachedTotals cached = cachedTotals.get(batch);
+    if (cached != null && cached.version == batch.getVersion()) {
+      hitCount++;
+      return cached.aggregator;
+    }
+    missCount++;
+    final ReportAggregator aggregator = aggregate(batch);
+    cachedTotals.put(batch, new CachedTotals(batch.getVersion(), aggregator));
+    return aggregator;
+  }
+
+  private static ReportAggregator aggregate(final InstructionBatch batch) {
+    final InstructionType[] instructionTypeValues = InstructionType.values();
+    final StringDictionary entityNames = batch.getEntityNames();
+    final byte[] instructionTypes = batch.instructionTypes();
+    final int[] entityIds = batch.entityIds();
+    final long[] scaledUSDAmounts = batch.scaledUSDAmounts();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final ReportAggregator aggregator = new ReportAggregator();
+    for (int i = 0; i < batch.size(); i++) {
+      aggregator.add(instructionTypeValues[instructionTypes[i]],
+          LocalDate.ofEpochDay(epochDays[i]), entityNames.decode(entityIds[i]),
+          scaledUSDAmounts[i]);
+    }
+    return aggregator;
+  }
+
+  /**
+   * This method drops the cached totals of the given batch.
+   *
+   * @param batch - instruction batch whose totals are dropped
+   */
+  public synchronized void invalidate(final InstructionBatch batch) {
+    cachedTotals.remove(batch);
+  }
+
+  /**
+   * This method drops the cached totals of every batch.
+   */
+  public synchronized void invalidateAll() {
+    cachedTotals.clear();
+  }
+
+  /**
+   * @return number of batches whose totals are cached.
+   */
+  public synchronized int size() {
+    return cachedTotals.size();
+  }
+
+  /**
+   * @return number of times the cached totals of a batch were reused.
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return number of times the totals of a batch had to be aggregated.
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  private static final class CachedTotals {
+
+    private final long version;
+    private final ReportAggregator aggregator;
+
+    private CachedTotals(final long version, final ReportAggregator aggregator) {
+      this.version = version;
+      this.aggregator = aggregator;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package trade.report.engine;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+/**
+ * This class accumulates trade instructions fed by many producer threads. Totals are spread over
+ * striped cells, each with its own aggregator and lock, and a producer keeps updating the same cell
+ * while it is free, so producers on different cells never wait for each other and there is no
+ * global lock. A producer that finds its cell taken moves to another one, as {@code LongAdder}
+ * does, so threads whose cells collide spread out after the first contention.
+ *
+ * <p>A snapshot locks and copies one cell at a time, so producers only wait for the copy of their
+ * own cell. It includes every instruction whose {@link #add(TradeInstruction)} completed before it
+ * started and may include some added while it runs, each counted in both its settlement date and
+ * its entity total or in neither.
+ */
+public final class ConcurrentReportAccumulator {
+
+  // Per-thread cell hash, moved on contention; zero until the thread first adds an instruction.
+  private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[1]);
+
+  private final Cell[] cells;
+  private final int mask;
+
+  /**
+   * Creates an accumulator with two cells per available processor.
+   */
+  public ConcurrentReportAccumulator() {
+    this(2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param stripes minimum number of cells; rounded up to a power of two
+   */
+  public ConcurrentReportAccumulator(final int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("Number of stripes should be positive.");
+    }
+    final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    cells = new Cell[size];
+    for (int i = 0; i < size; i++) {
+      cells[i] = new Cell();
+    }
+    mask = size - 1;
+  }
+
+  /**
+   * This method adds a trade instruction to the cell of the calling thread, moving the thread to
+   * another cell if its own is held by another thread.
+   *
+   * @param tradeInstruction - trade instruction received by the producer
+   */
+  public void add(final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    final int[] probe = PROBE.get();
+    if (probe[0] == 0) {
+      probe[0] = initialProbe();
+    }
+    Cell cell = cells[probe[0] & mask];
+    if (!cell.lock.tryLock()) {
+      probe[0] = advanceProbe(probe[0]);
+      cell = cells[probe[0] & mask];
+      cell.lock.lock();
+    }
+    try {
+      cell.aggregator.add(tradeInstruction);
+      cell.instructionCount++;
+    } finally {
+      cell.lock.unlock();
+    }
+  }
+
+  /**
+   * This method returns a consistent report of all instructions added so far, ranking every entity.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport snapshot() {
+    return snapshot(Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method returns a consistent report of all instructions added so far. Each cell is locked
+   * only while its totals are copied; the report itself is built after releasing them.
+   *
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport snapshot(final int rankingLimit) {
+    final ReportAggregator merged = new ReportAggregator();
+    for (final Cell cell : cells) {
+      cell.lock.lock();
+      try {
+        merged.merge(cell.aggregator);
+      } finally {
+        cell.lock.unlock();
+      }
+    }
+    return merged.toReport(rankingLimit);
+  }
+
+  /**
+   * @return number of instructions added so far.
+   */
+  public long getInstructionCount() {
+    long count = 0;
+    for (final Cell cell : cells) {
+      cell.lock.lock();
+      try {
+        count += cell.instructionCount;
+      } finally {
+        cell.lock.unlock();
+      }
+    }
+    return count;
+  }
+
+  private static int initialProbe() {
+    final long id = Thread.currentThread().getId();
+    final int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    final int probe = hash ^ (hash >>> 16);
+    return probe == 0 ? 1 : probe;
+  }
+
+  private static int advanceProbe(final int probe) {
+    // Xorshift, which never maps a non-zero probe to zero.
+    int next = probe ^ (probe << 13);
+    next ^= next >>> 17;
+    return next ^ (next << 5);
+  }
+
+  private static final class Cell {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReportAggregator aggregator = new ReportAggregator();
+    private long instructionCount;
+  }
+}
@@ -0,0 +1,257 @@
+package trade.report.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionEvent;
+import trade.report.model.ReportDelta;
+import trade.report.model.ReportDelta.EntityChange;
+import trade.report.model.ReportDelta.SettlementChange;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.FixedPoint;
+import trade.report.util.TradeReportUtility;
+
+/**
+ * This class keeps a settlement report up to date as instructions are created, amended and
+ * cancelled. Applying an event retracts the contribution of the previous version of the
+ * instruction and adds that of the new one, touching only the settlement dates and entities of
+ * the two versions, and returns just the report rows whose amounts changed.
+ *
+ * <p>Events carry a version per instruction. An event whose version is not higher than the one
+ * already applied is ignored, so events delivered late or twice do not change the report. Totals
+ * are kept in fixed point, so retracting an instruction restores the totals exactly.
+ *
+ * <p>All methods are synchronized, so events may be applied and snapshots taken from different
+ * threads.
+ */
+public final class DifferentialReportEngine {
+
+  private static final int AMOUNT = 0;
+  private static final int COUNT = 1;
+
+  private final Map<String, AppliedInstruction> instructions = new HashMap<>();
+  private final Map<InstructionType, Map<LocalDate, long[]>> settlements =
+      new EnumMap<>(InstructionType.class);
+  private final Map<InstructionType, Map<String, long[]>> entityTotals =
+      new EnumMap<>(InstructionType.class);
+  private int liveInstructionCount;
+
+  public DifferentialReportEngine() {
+    for (final InstructionType instructionType : InstructionType.values()) {
+      settlements.put(instructionType, new HashMap<>());
+      entityTotals.put(instructionType, new LinkedHashMap<>());
+    }
+  }
+
+  /**
+   * This method applies an instruction event to the report. The new totals of every touched row
+   * are worked out before any of them is stored, so an event that cannot be applied, for example
+   * because a total would overflow, leaves the report unchanged.
+   *
+   * @param event - creation, amendment or cancellation of an instruction
+   * @return report rows changed by the event, empty when the event is out of date.
+   */
+  public synchronized ReportDelta apply(final InstructionEvent event) {
+    Objects.requireNonNull(event, "Instruction event should not be null.");
+    final String instructionId = event.getInstructionId();
+    final AppliedInstruction current = instructions.get(instructionId);
+    if (current != null && event.getVersion() <= current.version) {
+      return ReportDelta.EMPTY;
+    }
+    int liveInstructionChange = 0;
+    switch (event.getEventType()) {
+      case NEW:
+        if (current != null) {
+          throw new IllegalArgumentException(
+              "Instruction " + instructionId + " already exists.");
+        }
+        liveInstructionChange = 1;
+        break;
+      case AMEND:
+      case CANCEL:
+        if (current == null) {
+          throw new IllegalArgumentException("Instruction " + instructionId + " is not known.");
+        }
+        if (current.tradeInstruction == null) {
+          throw new IllegalArgumentException(
+              "Instruction " + instructionId + " is cancelled.");
+        }
+        if (event.getTradeInstruction() == null) {
+          liveInstructionChange = -1;
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported event type " + event.getEventType() + ".");
+    }
+
+    final Changes changes = new Changes();
+    if (current != null) {
+      changes.contribute(current.tradeInstruction, -1);
+    }
+    if (event.getTradeInstruction() != null) {
+      changes.contribute(event.getTradeInstruction(), 1);
+    }
+    changes.store();
+    liveInstructionCount += liveInstructionChange;
+    instructions.put(instructionId,
+        new AppliedInstruction(event.getVersion(), event.getTradeInstruction()));
+    return changes.toDelta();
+  }
+
+  /**
+   * This method builds the report for all live instructions, ranking every entity.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport snapshot() {
+    return snapshot(Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method builds the report for all live instructions.
+   *
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public synchronized SettlementReport snapshot(final int rankingLimit) {
+    final Map<InstructionType, Map<LocalDate, Double>> dateTotals =
+        new EnumMap<>(InstructionType.class);
+    final Map<InstructionType, List<Map.Entry<String, Double>>> rankings =
+        new EnumMap<>(InstructionType.class);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final Map<LocalDate, Double> amounts = new TreeMap<>();
+      settlements.get(instructionType)
+          .forEach((date, total) -> amounts.put(date, FixedPoint.toDouble(total[AMOUNT])));
+      dateTotals.put(instructionType, amounts);
+      final Map<String, Long> totals = new LinkedHashMap<>();
+      entityTotals.get(instructionType)
+          .forEach((entityName, total) -> totals.put(entityName, total[AMOUNT]));
+      rankings.put(instructionType, TradeReportUtility.rankEntityTotals(totals, rankingLimit));
+    }
+    return new SettlementReport(dateTotals, rankings);
+  }
+
+  /**
+   * @return number of instructions created and not cancelled.
+   */
+  public synchronized int getInstructionCount() {
+    return liveInstructionCount;
+  }
+
+  /**
+   * Rows touched by an event in the order they were touched, with their amounts before the event,
+   * null for rows that did not exist, and the totals the event leads to.
+   */
+  private final class Changes {
+
+    private final Map<InstructionType, Map<LocalDate, Row>> settlementRows =
+        new EnumMap<>(InstructionType.class);
+    private final Map<InstructionType, Map<String, Row>> entityRows =
+        new EnumMap<>(InstructionType.class);
+
+    private Changes() {
+      for (final InstructionType instructionType : InstructionType.values()) {
+        settlementRows.put(instructionType, new LinkedHashMap<>());
+        entityRows.put(instructionType, new LinkedHashMap<>());
+      }
+    }
+
+    private void contribute(final TradeInstruction tradeInstruction, final int sign) {
+      final InstructionType instructionType = tradeInstruction.getInstructionType();
+      final long amount = sign * tradeInstruction.calculateScaledUSDAmount();
+      row(settlementRows.get(instructionType), settlements.get(instructionType),
+          tradeInstruction.getActualSettlementDate()).add(amount, sign);
+      row(entityRows.get(instructionType), entityTotals.get(instructionType),
+          tradeInstruction.getEntityName()).add(amount, sign);
+    }
+
+    private <K> Row row(final Map<K, Row> rows, final Map<K, long[]> totals, final K key) {
+      return rows.computeIfAbsent(key, k -> new Row(totals.get(k)));
+    }
+
+    private void store() {
+      for (final InstructionType instructionType : InstructionType.values()) {
+        store(settlementRows.get(instructionType), settlements.get(instructionType));
+        store(entityRows.get(instructionType), entityTotals.get(instructionType));
+      }
+    }
+
+    private <K> void store(final Map<K, Row> rows, final Map<K, long[]> totals) {
+      rows.forEach((key, row) -> {
+        if (row.count == 0) {
+          totals.remove(key);
+        } else {
+          final long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+          total[AMOUNT] = row.amount;
+          total[COUNT] = row.count;
+        }
+      });
+    }
+
+    private ReportDelta toDelta() {
+      final List<SettlementChange> settlementChanges = new ArrayList<>();
+      final List<EntityChange> entityChanges = new ArrayList<>();
+      for (final InstructionType instructionType : InstructionType.values()) {
+        settlementRows.get(instructionType).forEach((date, row) -> {
+          if (row.isChanged()) {
+            settlementChanges.add(new SettlementChange(instructionType, date, row.amount,
+                row.count == 0));
+          }
+        });
+        entityRows.get(instructionType).forEach((entityName, row) -> {
+          if (row.isChanged()) {
+            entityChanges.add(new EntityChange(instructionType, entityName, row.amount,
+                row.count == 0));
+          }
+        });
+      }
+      return settlementChanges.isEmpty() && entityChanges.isEmpty() ? ReportDelta.EMPTY
+          : new ReportDelta(settlementChanges, entityChanges);
+    }
+  }
+
+  /**
+   * Total of a single report row while an event is applied.
+   */
+  private static final class Row {
+
+    private final Long before;
+    private long amount;
+    private long count;
+
+    private Row(final long[] total) {
+      this.before = total == null ? null : total[AMOUNT];
+      this.amount = total == null ? 0 : total[AMOUNT];
+      this.count = total == null ? 0 : total[COUNT];
+    }
+
+    private void add(final long amount, final int sign) {
+      this.amount = Math.addExact(this.amount, amount);
+      this.count += sign;
+    }
+
+    private boolean isChanged() {
+      return count == 0 ? before != null : before == null || before != amount;
+    }
+  }
+
+  private static final class AppliedInstruction {
+
+    private final long version;
+    // Null once the instruction is cancelled, kept so late events on it are still recognised.
+    private final TradeInstruction tradeInstruction;
+
+    private AppliedInstruction(final long version, final TradeInstruction tradeInstruction) {
+      this.version = version;
+      this.tradeInstruction = tradeInstruction;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package trade.report.engine;
+
+import java.util.Objects;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+/**
+ * This class keeps a settlement report up to date as trade instructions arrive. Each instruction
+ * only updates the running totals of its settlement date and entity, so taking a snapshot costs
+ * time proportional to the number of dates and entities, not to the number of instructions seen.
+ * Snapshots are cached until the next instruction arrives.
+ *
+ * <p>All methods are synchronized, so instructions may be accepted and snapshots taken from
+ * different threads.
+ */
+public final class IncrementalReportEngine {
+
+  private final ReportAggregator aggregator = new ReportAggregator();
+  private final int rankingLimit;
+  private long instructionCount;
+  private SettlementReport snapshot;
+
+  /**
+   * Creates an engine whose snapshots rank every entity.
+   */
+  public IncrementalReportEngine() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param rankingLimit largest number of entities ranked for each instruction type in a snapshot
+   */
+  public IncrementalReportEngine(final int rankingLimit) {
+    if (rankingLimit < 0) {
+      throw new IllegalArgumentException("Ranking limit should not be negative.");
+    }
+    this.rankingLimit = rankingLimit;
+  }
+
+  /**
+   * This method adds a trade instruction to the running totals.
+   *
+   * @param tradeInstruction - trade instruction that has arrived
+   */
+  public synchronized void accept(final TradeInstruction tradeInstruction) {
+    aggregator.add(tradeInstruction);
+    instructionCount++;
+    snapshot = null;
+  }
+
+  /**
+   * This method adds a batch of trade instructions to the running totals.
+   *
+   * @param tradeInstructions - trade instructions that have arrived
+   */
+  public synchronized void acceptAll(final Iterable<TradeInstruction> tradeInstructions) {
+    Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
+    for (final TradeInstruction tradeInstruction : tradeInstructions) {
+      accept(tradeInstruction);
+    }
+  }
+
+  /**
+   * This method returns the report for all instructions accepted so far.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public synchronized SettlementReport snapshot() {
+    if (snapshot == null) {
+      snapshot = aggregator.toReport(rankingLimit);
+    }
+    return snapshot;
+  }
+
+  /**
+   * @return number of instructions accepted so far.
+   */
+  public synchronized long getInstructionCount() {
+    return instructionCount;
+  }
+}
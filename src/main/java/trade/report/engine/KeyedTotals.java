@@ -0,0 +1,56 @@
+package trade.report.engine;
+
+import java.util.Arrays;
+
+/**
+ * Class that holds partial fixed-point USD totals keyed by an int such as an epoch day or an entity
+ * id. Keys are kept in ascending order so two partial results can be merged with a single linear
+ * pass.
+ */
+final class KeyedTotals {
+
+  static final KeyedTotals EMPTY = new KeyedTotals(new int[0], new long[0]);
+
+  final int[] keys;
+  final long[] amounts;
+
+  KeyedTotals(final int[] keys, final long[] amounts) {
+    this.keys = keys;
+    this.amounts = amounts;
+  }
+
+  int size() {
+    return keys.length;
+  }
+
+  /**
+   * This method merges two partial results, adding the amounts of keys present in both. Fixed-point
+   * addition is exact, so the result does not depend on how the instructions were partitioned.
+   */
+  static KeyedTotals merge(final KeyedTotals left, final KeyedTotals right) {
+    if (right.size() == 0) {
+      return left;
+    }
+    if (left.size() == 0) {
+      return right;
+    }
+    final int[] keys = new int[left.size() + right.size()];
+    final long[] amounts = new long[keys.length];
+    int l = 0;
+    int r = 0;
+    int n = 0;
+    while (l < left.size() || r < right.size()) {
+      if (r == right.size() || (l < left.size() && left.keys[l] < right.keys[r])) {
+        keys[n] = left.keys[l];
+        amounts[n++] = left.amounts[l++];
+      } else if (l == left.size() || right.keys[r] < left.keys[l]) {
+        keys[n] = right.keys[r];
+        amounts[n++] = right.amounts[r++];
+      } else {
+        keys[n] = left.keys[l];
+        amounts[n++] = Math.addExact(left.amounts[l++], right.amounts[r++]);
+      }
+    }
+    return new KeyedTotals(Arrays.copyOf(keys, n), Arrays.copyOf(amounts, n));
+  }
+}
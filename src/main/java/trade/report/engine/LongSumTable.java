@@ -0,0 +1,105 @@
+package trade.report.engine;
+
+import java.util.Arrays;
+
+/**
+ * Class that sums fixed-point amounts and counts per non-negative long key in an open-addressing
+ * hash table, so cells can be accumulated without boxing.
+ */
+final class LongSumTable {
+
+  private static final long EMPTY = -1L;
+
+  private long[] keys;
+  private long[] sums;
+  private long[] counts;
+  private int size;
+
+  LongSumTable(final int expectedSize) {
+    final int capacity = Integer.highestOneBit(Math.max(16, expectedSize) * 2 - 1) << 1;
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    sums = new long[capacity];
+    counts = new long[capacity];
+  }
+
+  void add(final long key, final long amount, final long count) {
+    final int slot = slot(key);
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      sums[slot] = amount;
+      counts[slot] = count;
+      if (++size * 2 > keys.length) {
+        grow();
+      }
+      return;
+    }
+    sums[slot] = Math.addExact(sums[slot], amount);
+    counts[slot] += count;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * This method returns the keys in ascending order and fills in the positions of their sums and
+   * counts in {@link #sums()} and {@link #counts()}.
+   */
+  long[] sortedKeys(final int[] positions) {
+    final long[] sorted = new long[size];
+    for (int slot = 0, n = 0; slot < keys.length; slot++) {
+      if (keys[slot] != EMPTY) {
+        sorted[n++] = keys[slot];
+      }
+    }
+    Arrays.sort(sorted);
+    for (int i = 0; i < size; i++) {
+      positions[i] = slot(sorted[i]);
+    }
+    return sorted;
+  }
+
+  long[] sums() {
+    return sums;
+  }
+
+  long[] counts() {
+    return counts;
+  }
+
+  private void grow() {
+    final long[] oldKeys = keys;
+    final long[] oldSums = sums;
+    final long[] oldCounts = counts;
+    keys = new long[oldKeys.length * 2];
+    Arrays.fill(keys, EMPTY);
+    sums = new long[keys.length];
+    counts = new long[keys.length];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        final int slot = slot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        sums[slot] = oldSums[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+
+  /**
+   * @return slot holding the key, or the empty slot where it would be inserted.
+   */
+  private int slot(final long key) {
+    final int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != key && keys[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(final long key) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,129 @@
+package trade.report.engine;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import trade.report.enums.InstructionType;
+import trade.report.model.EntityTotals;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementTotals;
+
+/**
+ * This class defines parallel versions of the {@link BatchAggregator} calculations. The batch is
+ * split in halves down to a fixed partition size, each partition is aggregated on its own core and
+ * the partial totals are merged back left to right.
+ *
+ * <p>Totals are summed in fixed point, so they are exactly those of the sequential calculation
+ * whatever the partitioning and scheduling.
+ */
+public final class ParallelBatchAggregator {
+
+  public static final int DEFAULT_PARTITION_SIZE = 1 << 16;
+
+  private final ForkJoinPool pool;
+  private final int partitionSize;
+
+  /**
+   * Creates an aggregator running on the common fork-join pool with the default partition size.
+   */
+  public ParallelBatchAggregator() {
+    this(ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+  }
+
+  /**
+   * @param pool          pool the partitions are aggregated on
+   * @param partitionSize largest number of instructions aggregated by a single task
+   */
+  public ParallelBatchAggregator(final ForkJoinPool pool, final int partitionSize) {
+    Objects.requireNonNull(pool, "Pool should be provided.");
+    if (partitionSize < 1) {
+      throw new IllegalArgumentException("Partition size should be positive.");
+    }
+    this.pool = pool;
+    this.partitionSize = partitionSize;
+  }
+
+  /**
+   * This method calculates the incoming or outgoing amount settled in USD on different dates in
+   * parallel.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD settlement totals ordered by settlement date.
+   */
+  public SettlementTotals calculateUSDSettlements(final InstructionBatch batch,
+      final InstructionType instructionType) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    Objects.requireNonNull(instructionType, "Instruction type should be provided.");
+    return BatchAggregator.toSettlementTotals(pool.invoke(new PartitionTask(
+        0, batch.size(), (from, to) ->
+        BatchAggregator.sumByDay(batch, instructionType, from, to))));
+  }
+
+  /**
+   * This method calculates the rankings of the entities based on incoming or outgoing amounts in
+   * parallel, with one entry per entity.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD totals per entity in ranking order.
+   */
+  public EntityTotals calculateRankings(final InstructionBatch batch,
+      final InstructionType instructionType) {
+    return calculateTopRankings(batch, instructionType, Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method calculates the top entities based on incoming or outgoing amounts in parallel.
+   *
+   * @param batch           - batch of trade instructions
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param limit           - largest number of entities to return
+   * @return USD totals of the top entities in ranking order.
+   */
+  public EntityTotals calculateTopRankings(final InstructionBatch batch,
+      final InstructionType instructionType, final int limit) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    Objects.requireNonNull(instructionType, "Instruction type should be provided.");
+    return BatchAggregator.toEntityTotals(batch, pool.invoke(new PartitionTask(
+        0, batch.size(), (from, to) ->
+        BatchAggregator.sumByEntity(batch, instructionType, from, to))), limit);
+  }
+
+  /**
+   * Aggregation of a range of the batch into partial totals.
+   */
+  @FunctionalInterface
+  private interface RangeAggregation {
+
+    KeyedTotals aggregate(int from, int to);
+  }
+
+  private final class PartitionTask extends RecursiveTask<KeyedTotals> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final RangeAggregation aggregation;
+
+    private PartitionTask(final int from, final int to, final RangeAggregation aggregation) {
+      this.from = from;
+      this.to = to;
+      this.aggregation = aggregation;
+    }
+
+    @Override
+    protected KeyedTotals compute() {
+      if (to - from <= partitionSize) {
+        return aggregation.aggregate(from, to);
+      }
+      final int mid = (from + to) >>> 1;
+      final PartitionTask left = new PartitionTask(from, mid, aggregation);
+      final PartitionTask right = new PartitionTask(mid, to, aggregation);
+      right.fork();
+      final KeyedTotals leftTotals = left.compute();
+      return KeyedTotals.merge(leftTotals, right.join());
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package trade.report.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.FixedPoint;
+import trade.report.util.TradeReportUtility;
+
+/**
+ * This class aggregates trade instructions into a settlement report in a single pass. Settlements
+ * per date and USD totals per entity for both instruction types are accumulated together, and the
+ * USD amount of each instruction is calculated only once. Rankings list each entity once.
+ *
+ * <p>Totals are kept in fixed point, see {@link FixedPoint}, so they are exact, independent of the
+ * order in which instructions and aggregators are combined, and overflow raises an
+ * {@link ArithmeticException} instead of losing precision.
+ *
+ * <p>An aggregator is also the partial result of a shard of the instructions, such as one book or
+ * one input file. It can be written to a stream, read back in another process and merged with the
+ * aggregators of the other shards in any order and grouping, giving the same report as aggregating
+ * all instructions together.
+ */
+public final class ReportAggregator {
+
+  private static final int MAGIC = 0x54525041;
+  private static final int VERSION = 1;
+
+  private final Map<InstructionType, Map<LocalDate, Long>> settlements =
+      new EnumMap<>(InstructionType.class);
+  private final Map<InstructionType, Map<String, Long>> entityTotals =
+      new EnumMap<>(InstructionType.class);
+
+  public ReportAggregator() {
+    for (final InstructionType instructionType : InstructionType.values()) {
+      settlements.put(instructionType, new HashMap<>());
+      entityTotals.put(instructionType, new LinkedHashMap<>());
+    }
+  }
+
+  /**
+   * This method aggregates the given trade instructions into a settlement report, traversing the
+   * list only once.
+   *
+   * @param tradeInstructions - a list of trade instructions
+   * @return settlement report for both instruction types.
+   */
+  public static SettlementReport aggregate(final List<TradeInstruction> tradeInstructions) {
+    Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
+    final ReportAggregator aggregator = new ReportAggregator();
+    try (Span span = PipelineMetrics.span(PipelineStage.AGGREGATION)) {
+      span.items(tradeInstructions.size());
+      for (final TradeInstruction tradeInstruction : tradeInstructions) {
+        aggregator.add(tradeInstruction);
+      }
+    }
+    return aggregator.toReport();
+  }
+
+  /**
+   * This method adds the USD amount of a trade instruction to the settlement of its actual
+   * settlement date and to the total of its entity.
+   *
+   * @param tradeInstruction - trade instruction to be aggregated
+   */
+  public void add(final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    add(tradeInstruction.getInstructionType(), tradeInstruction.getActualSettlementDate(),
+        tradeInstruction.getEntityName(), tradeInstruction.calculateScaledUSDAmount());
+  }
+
+  /**
+   * This method adds an already converted USD amount to the settlement of the given date and to the
+   * total of the given entity. It lets parsers feed the aggregator without creating a
+   * trade instruction for every record.
+   *
+   * @param instructionType      - type of instruction (incoming or outgoing)
+   * @param actualSettlementDate - working day when the settlement takes place
+   * @param entityName           - name of the entity
+   * @param scaledUSDAmount      - USD amount of the instruction in fixed point
+   */
+  public void add(final InstructionType instructionType, final LocalDate actualSettlementDate,
+      final String entityName, final long scaledUSDAmount) {
+    settlements.get(instructionType).merge(actualSettlementDate, scaledUSDAmount, Math::addExact);
+    entityTotals.get(instructionType).merge(entityName, scaledUSDAmount, Math::addExact);
+  }
+
+  /**
+   * This method adds the settlement and entity totals of another aggregator to this one, as if the
+   * instructions of both had been aggregated together.
+   *
+   * @param other - aggregator whose totals are added
+   */
+  public void merge(final ReportAggregator other) {
+    Objects.requireNonNull(other, "Aggregator should not be null.");
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final Map<LocalDate, Long> dateTotals = settlements.get(instructionType);
+      other.settlements.get(instructionType)
+          .forEach((date, amount) -> dateTotals.merge(date, amount, Math::addExact));
+      final Map<String, Long> totals = entityTotals.get(instructionType);
+      other.entityTotals.get(instructionType)
+          .forEach((entityName, amount) -> totals.merge(entityName, amount, Math::addExact));
+    }
+  }
+
+  /**
+   * This method merges the partial reports saved in the given files into one aggregator.
+   *
+   * @param paths - paths of the partial report files
+   * @return aggregator holding the totals of all files.
+   * @throws IOException if a file cannot be read
+   */
+  public static ReportAggregator merge(final List<Path> paths) throws IOException {
+    Objects.requireNonNull(paths, "Paths should be provided.");
+    final ReportAggregator aggregator = new ReportAggregator();
+    for (final Path path : paths) {
+      aggregator.merge(load(path));
+    }
+    return aggregator;
+  }
+
+  /**
+   * This method writes the totals aggregated so far to a partial report file.
+   *
+   * @param path - path of the partial report file
+   * @throws IOException if the file cannot be written
+   */
+  public void save(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      writeTo(out);
+    }
+  }
+
+  /**
+   * This method reads an aggregator from a partial report file.
+   *
+   * @param path - path of the partial report file
+   * @return aggregator holding the totals of the file.
+   * @throws IOException if the file cannot be read
+   */
+  public static ReportAggregator load(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      return readFrom(in);
+    }
+  }
+
+  /**
+   * This method writes the totals aggregated so far to the given stream. Settlements are written as
+   * epoch days and entity totals in the order the entities were first aggregated, all amounts in
+   * fixed point, so nothing is lost when the aggregator is read back.
+   *
+   * @param out - stream the totals are written to, left open
+   * @throws IOException if the stream cannot be written
+   */
+  public void writeTo(final OutputStream out) throws IOException {
+    Objects.requireNonNull(out, "Output stream should be provided.");
+    final DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final Map<LocalDate, Long> dateTotals = settlements.get(instructionType);
+      data.writeInt(dateTotals.size());
+      for (final Map.Entry<LocalDate, Long> entry : dateTotals.entrySet()) {
+        data.writeLong(entry.getKey().toEpochDay());
+        data.writeLong(entry.getValue());
+      }
+      final Map<String, Long> totals = entityTotals.get(instructionType);
+      data.writeInt(totals.size());
+      for (final Map.Entry<String, Long> entry : totals.entrySet()) {
+        data.writeUTF(entry.getKey());
+        data.writeLong(entry.getValue());
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * This method reads an aggregator written by {@link #writeTo(OutputStream)} from the given
+   * stream.
+   *
+   * @param in - stream the totals are read from, left open
+   * @return aggregator holding the totals read.
+   * @throws IOException if the stream cannot be read or ends early
+   */
+  public static ReportAggregator readFrom(final InputStream in) throws IOException {
+    Objects.requireNonNull(in, "Input stream should be provided.");
+    final DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IllegalArgumentException("Stream is not a partial report.");
+    }
+    final int version = data.readInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported partial report version " + version + ".");
+    }
+    final ReportAggregator aggregator = new ReportAggregator();
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final Map<LocalDate, Long> dateTotals = aggregator.settlements.get(instructionType);
+      for (int i = readCount(data); i > 0; i--) {
+        dateTotals.put(LocalDate.ofEpochDay(data.readLong()), data.readLong());
+      }
+      final Map<String, Long> totals = aggregator.entityTotals.get(instructionType);
+      for (int i = readCount(data); i > 0; i--) {
+        totals.put(data.readUTF(), data.readLong());
+      }
+    }
+    return aggregator;
+  }
+
+  private static int readCount(final DataInputStream data) throws IOException {
+    final int count = data.readInt();
+    if (count < 0) {
+      throw new IllegalArgumentException("Partial report is corrupt.");
+    }
+    return count;
+  }
+
+  /**
+   * This method builds the settlement report from the instructions aggregated so far, ranking every
+   * entity.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport toReport() {
+    return toReport(Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method builds the settlement report from the instructions aggregated so far. Rankings are
+   * limited to the entities with the highest USD totals, in descending order.
+   *
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport toReport(final int rankingLimit) {
+    final Map<InstructionType, Map<LocalDate, Double>> dateTotals =
+        new EnumMap<>(InstructionType.class);
+    final Map<InstructionType, List<Map.Entry<String, Double>>> rankings =
+        new EnumMap<>(InstructionType.class);
+    try (Span span = PipelineMetrics.span(PipelineStage.RANKING)) {
+      for (final InstructionType instructionType : InstructionType.values()) {
+        final Map<LocalDate, Double> amounts = new TreeMap<>();
+        settlements.get(instructionType)
+            .forEach((date, amount) -> amounts.put(date, FixedPoint.toDouble(amount)));
+        dateTotals.put(instructionType, amounts);
+        rankings.put(instructionType, TradeReportUtility.rankEntityTotals(
+            entityTotals.get(instructionType), rankingLimit));
+      }
+      final SettlementReport report = new SettlementReport(dateTotals, rankings);
+      span.items(report.getRowCount());
+      return report;
+    }
+  }
+}
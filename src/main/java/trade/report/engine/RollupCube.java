@@ -0,0 +1,341 @@
+package trade.report.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import trade.report.enums.CubeDimension;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.util.FixedPoint;
+import trade.report.util.StringDictionary;
+
+/**
+ * This class pre-aggregates the USD amounts of a batch over actual settlement date, entity,
+ * currency and instruction type. Each distinct combination becomes one cell whose coordinates are
+ * packed into a single long, so the cube is built in one pass with primitive accumulators. Group-by
+ * and slice queries on any subset of the dimensions then only visit the cells, not the
+ * instructions.
+ */
+public final class RollupCube {
+
+  private static final InstructionType[] INSTRUCTION_TYPES = InstructionType.values();
+
+  private final StringDictionary entityNames;
+  private final StringDictionary currencies;
+  private final int minEpochDay;
+  private final int days;
+  private final int entities;
+  private final int currencyCount;
+  private final long[] cellKeys;
+  private final long[] cellAmounts;
+  private final long[] cellCounts;
+
+  private RollupCube(final InstructionBatch batch, final int minEpochDay, final int days,
+      final long[] cellKeys, final long[] cellAmounts, final long[] cellCounts) {
+    this.entityNames = batch.getEntityNames();
+    this.currencies = batch.getCurrencies();
+    this.minEpochDay = minEpochDay;
+    this.days = days;
+    this.entities = Math.max(1, entityNames.size());
+    this.currencyCount = Math.max(1, currencies.size());
+    this.cellKeys = cellKeys;
+    this.cellAmounts = cellAmounts;
+    this.cellCounts = cellCounts;
+  }
+
+  /**
+   * This method builds the cube over the instructions of a batch.
+   *
+   * @param batch - batch of trade instructions
+   * @return cube with one cell per distinct date, entity, currency and type.
+   */
+  public static RollupCube of(final InstructionBatch batch) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    final int size = batch.size();
+    final byte[] types = batch.instructionTypes();
+    final int[] entityIds = batch.entityIds();
+    final int[] currencyIds = batch.currencyIds();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    int minDay = 0;
+    int maxDay = -1;
+    if (size > 0) {
+      minDay = Integer.MAX_VALUE;
+      maxDay = Integer.MIN_VALUE;
+      for (int i = 0; i < size; i++) {
+        minDay = Math.min(minDay, epochDays[i]);
+        maxDay = Math.max(maxDay, epochDays[i]);
+      }
+    }
+    final long span = (long) maxDay - minDay + 1;
+    final long entities = Math.max(1, batch.getEntityNames().size());
+    final long currencies = Math.max(1, batch.getCurrencies().size());
+    try {
+      Math.multiplyExact(Math.multiplyExact(Math.multiplyExact(Math.max(1, span), entities),
+          currencies), INSTRUCTION_TYPES.length);
+      Math.toIntExact(span);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Rollup cube has too many cells.", e);
+    }
+
+    final LongSumTable table = new LongSumTable(1024);
+    for (int i = 0; i < size; i++) {
+      final long key = (((long) (epochDays[i] - minDay) * entities + entityIds[i]) * currencies
+          + currencyIds[i]) * INSTRUCTION_TYPES.length + types[i];
+      table.add(key, usdAmounts[i], 1);
+    }
+    final int[] positions = new int[table.size()];
+    final long[] keys = table.sortedKeys(positions);
+    final long[] amounts = new long[keys.length];
+    final long[] counts = new long[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      amounts[i] = table.sums()[positions[i]];
+      counts[i] = table.counts()[positions[i]];
+    }
+    return new RollupCube(batch, minDay, (int) span, keys, amounts, counts);
+  }
+
+  /**
+   * @return number of non-empty cells.
+   */
+  public int size() {
+    return cellKeys.length;
+  }
+
+  /**
+   * This method starts a query over the cube. Without group-by dimensions the query returns a
+   * single grand total row.
+   *
+   * @return query with no grouping and no filters.
+   */
+  public Query query() {
+    return new Query();
+  }
+
+  /**
+   * Group-by and slice query over the cube. Dimensions that are not grouped are rolled up, and
+   * filters on the same dimension accept any of the given values.
+   */
+  public final class Query {
+
+    private final Set<CubeDimension> groupBy = EnumSet.noneOf(CubeDimension.class);
+    private final boolean[][] allowed = new boolean[CubeDimension.values().length][];
+
+    private Query() {
+    }
+
+    /**
+     * This method adds dimensions the result rows are grouped by.
+     *
+     * @param dimensions - dimensions to group by
+     * @return this query.
+     */
+    public Query groupBy(final CubeDimension... dimensions) {
+      for (final CubeDimension dimension : dimensions) {
+        groupBy.add(Objects.requireNonNull(dimension, "Dimension should be provided."));
+      }
+      return this;
+    }
+
+    /**
+     * This method restricts the query to cells whose value of the dimension is one of the given
+     * values: dates for {@link CubeDimension#SETTLEMENT_DATE}, names for
+     * {@link CubeDimension#ENTITY} and {@link CubeDimension#CURRENCY}, and instruction types for
+     * {@link CubeDimension#INSTRUCTION_TYPE}. Unknown values match no cell.
+     *
+     * @param dimension - dimension to filter on
+     * @param values    - accepted values
+     * @return this query.
+     */
+    public Query where(final CubeDimension dimension, final Object... values) {
+      Objects.requireNonNull(dimension, "Dimension should be provided.");
+      final boolean[] mask = mask(dimension);
+      for (final Object value : values) {
+        final long coordinate = coordinate(dimension, value);
+        if (coordinate >= 0 && coordinate < mask.length) {
+          mask[(int) coordinate] = true;
+        }
+      }
+      return this;
+    }
+
+    /**
+     * This method restricts the query to cells settled between two dates.
+     *
+     * @param from - first settlement date, inclusive
+     * @param to   - last settlement date, inclusive
+     * @return this query.
+     */
+    public Query between(final LocalDate from, final LocalDate to) {
+      Objects.requireNonNull(from, "Start date should be provided.");
+      Objects.requireNonNull(to, "End date should be provided.");
+      if (to.isBefore(from)) {
+        throw new IllegalArgumentException("Start date should not be after end date.");
+      }
+      final boolean[] mask = mask(CubeDimension.SETTLEMENT_DATE);
+      final long first = Math.max(0, from.toEpochDay() - minEpochDay);
+      final long last = Math.min(days - 1L, to.toEpochDay() - minEpochDay);
+      for (long day = first; day <= last; day++) {
+        mask[(int) day] = true;
+      }
+      return this;
+    }
+
+    /**
+     * This method rolls up the matching cells into one row per combination of the grouped
+     * dimensions, ordered by date, entity id, currency id and type.
+     *
+     * @return result rows.
+     */
+    public List<Row> execute() {
+      final boolean groupDays = groupBy.contains(CubeDimension.SETTLEMENT_DATE);
+      final boolean groupEntities = groupBy.contains(CubeDimension.ENTITY);
+      final boolean groupCurrencies = groupBy.contains(CubeDimension.CURRENCY);
+      final boolean groupTypes = groupBy.contains(CubeDimension.INSTRUCTION_TYPE);
+      final boolean[] dayMask = allowed[CubeDimension.SETTLEMENT_DATE.ordinal()];
+      final boolean[] entityMask = allowed[CubeDimension.ENTITY.ordinal()];
+      final boolean[] currencyMask = allowed[CubeDimension.CURRENCY.ordinal()];
+      final boolean[] typeMask = allowed[CubeDimension.INSTRUCTION_TYPE.ordinal()];
+      final int types = INSTRUCTION_TYPES.length;
+
+      final LongSumTable groups = new LongSumTable(16);
+      for (int cell = 0; cell < cellKeys.length; cell++) {
+        long key = cellKeys[cell];
+        final int type = (int) (key % types);
+        key /= types;
+        final int currency = (int) (key % currencyCount);
+        key /= currencyCount;
+        final int entity = (int) (key % entities);
+        final int day = (int) (key / entities);
+        if ((dayMask != null && !dayMask[day]) || (entityMask != null && !entityMask[entity])
+            || (currencyMask != null && !currencyMask[currency])
+            || (typeMask != null && !typeMask[type])) {
+          continue;
+        }
+        groups.add(pack(groupDays ? day : 0, groupEntities ? entity : 0,
+            groupCurrencies ? currency : 0, groupTypes ? type : 0), cellAmounts[cell],
+            cellCounts[cell]);
+      }
+      if (groupBy.isEmpty() && groups.size() == 0) {
+        groups.add(0, 0, 0);
+      }
+
+      final int[] positions = new int[groups.size()];
+      final long[] keys = groups.sortedKeys(positions);
+      final List<Row> rows = new ArrayList<>(keys.length);
+      for (int i = 0; i < keys.length; i++) {
+        long key = keys[i];
+        final int type = (int) (key % types);
+        key /= types;
+        final int currency = (int) (key % currencyCount);
+        key /= currencyCount;
+        final int entity = (int) (key % entities);
+        final int day = (int) (key / entities);
+        rows.add(new Row(groupDays ? LocalDate.ofEpochDay((long) minEpochDay + day) : null,
+            groupEntities ? entityNames.decode(entity) : null,
+            groupCurrencies ? currencies.decode(currency) : null,
+            groupTypes ? INSTRUCTION_TYPES[type] : null,
+            groups.sums()[positions[i]], groups.counts()[positions[i]]));
+      }
+      return Collections.unmodifiableList(rows);
+    }
+
+    private boolean[] mask(final CubeDimension dimension) {
+      if (allowed[dimension.ordinal()] == null) {
+        allowed[dimension.ordinal()] = new boolean[radix(dimension)];
+      }
+      return allowed[dimension.ordinal()];
+    }
+  }
+
+  private long pack(final int day, final int entity, final int currency, final int type) {
+    return (((long) day * entities + entity) * currencyCount + currency)
+        * INSTRUCTION_TYPES.length + type;
+  }
+
+  private int radix(final CubeDimension dimension) {
+    return switch (dimension) {
+      case SETTLEMENT_DATE -> days;
+      case ENTITY -> entities;
+      case CURRENCY -> currencyCount;
+      case INSTRUCTION_TYPE -> INSTRUCTION_TYPES.length;
+    };
+  }
+
+  private long coordinate(final CubeDimension dimension, final Object value) {
+    return switch (dimension) {
+      case SETTLEMENT_DATE -> ((LocalDate) checkValue(dimension, value, LocalDate.class))
+          .toEpochDay() - minEpochDay;
+      case ENTITY -> entityNames.find((String) checkValue(dimension, value, String.class));
+      case CURRENCY -> currencies.find((String) checkValue(dimension, value, String.class));
+      case INSTRUCTION_TYPE ->
+          ((InstructionType) checkValue(dimension, value, InstructionType.class)).ordinal();
+    };
+  }
+
+  private static Object checkValue(final CubeDimension dimension, final Object value,
+      final Class<?> type) {
+    if (!type.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "Value " + value + " is not valid for dimension " + dimension + ".");
+    }
+    return value;
+  }
+
+  /**
+   * Result row of a cube query. Dimensions that were not grouped are null.
+   */
+  public static final class Row {
+
+    private final LocalDate settlementDate;
+    private final String entityName;
+    private final String currency;
+    private final InstructionType instructionType;
+    private final long scaledAmount;
+    private final long instructionCount;
+
+    private Row(final LocalDate settlementDate, final String entityName, final String currency,
+        final InstructionType instructionType, final long scaledAmount,
+        final long instructionCount) {
+      this.settlementDate = settlementDate;
+      this.entityName = entityName;
+      this.currency = currency;
+      this.instructionType = instructionType;
+      this.scaledAmount = scaledAmount;
+      this.instructionCount = instructionCount;
+    }
+
+    public LocalDate getSettlementDate() {
+      return settlementDate;
+    }
+
+    public String getEntityName() {
+      return entityName;
+    }
+
+    public String getCurrency() {
+      return currency;
+    }
+
+    public InstructionType getInstructionType() {
+      return instructionType;
+    }
+
+    public double getAmount() {
+      return FixedPoint.toDouble(scaledAmount);
+    }
+
+    public long getScaledAmount() {
+      return scaledAmount;
+    }
+
+    public long getInstructionCount() {
+      return instructionCount;
+    }
+  }
+}
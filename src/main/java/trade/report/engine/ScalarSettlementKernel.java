@@ -0,0 +1,29 @@
+package trade.report.engine;
+
+import trade.report.model.InstructionBatch;
+
+/**
+ * Settlement kernel adding the USD amounts calculated when the instructions were added to the
+ * batch, one instruction at a time.
+ */
+final class ScalarSettlementKernel implements SettlementKernel {
+
+  static final ScalarSettlementKernel INSTANCE = new ScalarSettlementKernel();
+
+  private ScalarSettlementKernel() {
+  }
+
+  @Override
+  public boolean sumByTypeAndDay(final InstructionBatch batch, final int minDay, final int days,
+      final long[] sums) {
+    final int size = batch.size();
+    final byte[] types = batch.instructionTypes();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+    for (int i = 0; i < size; i++) {
+      final int slot = types[i] * days + epochDays[i] - minDay;
+      sums[slot] = Math.addExact(sums[slot], usdAmounts[i]);
+    }
+    return true;
+  }
+}
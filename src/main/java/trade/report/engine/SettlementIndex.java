@@ -0,0 +1,245 @@
+package trade.report.engine;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementTotals;
+import trade.report.util.FixedPoint;
+
+/**
+ * This class indexes settlement totals by epoch day for each instruction type, both over all
+ * currencies and per currency. Each series keeps its settlement days in ascending order with prefix
+ * sums of the fixed-point USD amounts, so the total between two dates or over a rolling window is
+ * answered with two binary searches instead of a pass over the instructions.
+ */
+public final class SettlementIndex {
+
+  private final InstructionBatch batch;
+  private final Series[] typeSeries;
+  private final Series[][] currencySeries;
+
+  private SettlementIndex(final InstructionBatch batch, final Series[] typeSeries,
+      final Series[][] currencySeries) {
+    this.batch = batch;
+    this.typeSeries = typeSeries;
+    this.currencySeries = currencySeries;
+  }
+
+  /**
+   * This method builds the index over the instructions of a batch. The batch should not change
+   * afterwards, as currencies are resolved through its dictionary.
+   *
+   * @param batch - batch of trade instructions
+   * @return index of the settlement totals of the batch.
+   */
+  public static SettlementIndex of(final InstructionBatch batch) {
+    Objects.requireNonNull(batch, "Instruction batch should not be null.");
+    final int types = InstructionType.values().length;
+    final int currencies = batch.getCurrencies().size();
+    final byte[] instructionTypes = batch.instructionTypes();
+    final int[] currencyIds = batch.currencyIds();
+
+    final int[] typeGroups = new int[batch.size()];
+    final int[] currencyGroups = new int[batch.size()];
+    for (int i = 0; i < batch.size(); i++) {
+      typeGroups[i] = instructionTypes[i];
+      currencyGroups[i] = instructionTypes[i] * currencies + currencyIds[i];
+    }
+    final Series[] typeSeries = buildSeries(batch, typeGroups, types);
+    final Series[] flatCurrencySeries = buildSeries(batch, currencyGroups, types * currencies);
+    final Series[][] currencySeries = new Series[types][];
+    for (int type = 0; type < types; type++) {
+      currencySeries[type] = Arrays.copyOfRange(flatCurrencySeries, type * currencies,
+          (type + 1) * currencies);
+    }
+    return new SettlementIndex(batch, typeSeries, currencySeries);
+  }
+
+  /**
+   * This method calculates the total USD amount of the given type settled between two dates.
+   *
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param from            - first settlement date, inclusive
+   * @param to              - last settlement date, inclusive
+   * @return USD total between the dates.
+   */
+  public double getTotal(final InstructionType instructionType, final LocalDate from,
+      final LocalDate to) {
+    return series(instructionType, null).total(toEpochDay(from), toEpochDay(to));
+  }
+
+  /**
+   * This method calculates the total USD amount of the given type and currency settled between two
+   * dates.
+   *
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param currency        - currency of the trades
+   * @param from            - first settlement date, inclusive
+   * @param to              - last settlement date, inclusive
+   * @return USD total between the dates, zero for an unknown currency.
+   */
+  public double getTotal(final InstructionType instructionType, final String currency,
+      final LocalDate from, final LocalDate to) {
+    Objects.requireNonNull(currency, "Currency should be provided.");
+    return series(instructionType, currency).total(toEpochDay(from), toEpochDay(to));
+  }
+
+  /**
+   * This method returns the USD amount of the given type settled on each date.
+   *
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD settlement totals ordered by settlement date.
+   */
+  public SettlementTotals getSettlements(final InstructionType instructionType) {
+    return series(instructionType, null).rollingTotals(1);
+  }
+
+  /**
+   * This method calculates, for every settlement date, the USD amount of the given type settled in
+   * the window of days ending on that date.
+   *
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param windowDays      - number of days in each window, including its last day
+   * @return USD window totals ordered by the last date of the window.
+   */
+  public SettlementTotals getRollingTotals(final InstructionType instructionType,
+      final int windowDays) {
+    return series(instructionType, null).rollingTotals(windowDays);
+  }
+
+  /**
+   * This method calculates, for every settlement date of the currency, the USD amount of the given
+   * type and currency settled in the window of days ending on that date.
+   *
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @param currency        - currency of the trades
+   * @param windowDays      - number of days in each window, including its last day
+   * @return USD window totals ordered by the last date of the window.
+   */
+  public SettlementTotals getRollingTotals(final InstructionType instructionType,
+      final String currency, final int windowDays) {
+    Objects.requireNonNull(currency, "Currency should be provided.");
+    return series(instructionType, currency).rollingTotals(windowDays);
+  }
+
+  private Series series(final InstructionType instructionType, final String currency) {
+    Objects.requireNonNull(instructionType, "Instruction type should be provided.");
+    if (currency == null) {
+      return typeSeries[instructionType.ordinal()];
+    }
+    final Series[] series = currencySeries[instructionType.ordinal()];
+    final int currencyId = batch.getCurrencies().find(currency);
+    return currencyId < 0 || currencyId >= series.length ? Series.EMPTY : series[currencyId];
+  }
+
+  private static int toEpochDay(final LocalDate date) {
+    Objects.requireNonNull(date, "Settlement date should be provided.");
+    return Math.toIntExact(date.toEpochDay());
+  }
+
+  /**
+   * This method groups the instructions with a counting sort, sorts each group by settlement day
+   * and collapses equal days into one entry of the group's series.
+   */
+  private static Series[] buildSeries(final InstructionBatch batch, final int[] groupOf,
+      final int groups) {
+    final int size = batch.size();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    final int[] offsets = new int[groups + 1];
+    for (int i = 0; i < size; i++) {
+      offsets[groupOf[i] + 1]++;
+    }
+    for (int group = 0; group < groups; group++) {
+      offsets[group + 1] += offsets[group];
+    }
+    final int[] next = Arrays.copyOf(offsets, groups);
+    final long[] sortKeys = new long[size];
+    for (int i = 0; i < size; i++) {
+      sortKeys[next[groupOf[i]]++] = ((long) epochDays[i] << 32) | i;
+    }
+
+    final Series[] series = new Series[groups];
+    for (int group = 0; group < groups; group++) {
+      final int from = offsets[group];
+      final int to = offsets[group + 1];
+      Arrays.sort(sortKeys, from, to);
+      final int[] days = new int[to - from];
+      final long[] prefixSums = new long[to - from + 1];
+      int count = 0;
+      for (int k = from; k < to; k++) {
+        final int day = (int) (sortKeys[k] >> 32);
+        final long amount = usdAmounts[(int) sortKeys[k]];
+        if (count == 0 || days[count - 1] != day) {
+          days[count] = day;
+          prefixSums[count + 1] = prefixSums[count];
+          count++;
+        }
+        prefixSums[count] = Math.addExact(prefixSums[count], amount);
+      }
+      series[group] = count == 0 ? Series.EMPTY
+          : new Series(Arrays.copyOf(days, count), Arrays.copyOf(prefixSums, count + 1));
+    }
+    return series;
+  }
+
+  /**
+   * Settlement days in ascending order with the running total of the amounts settled up to and
+   * including each day. {@code prefixSums[i]} is the total of the first {@code i} days.
+   */
+  private static final class Series {
+
+    private static final Series EMPTY = new Series(new int[0], new long[1]);
+
+    private final int[] days;
+    private final long[] prefixSums;
+
+    private Series(final int[] days, final long[] prefixSums) {
+      this.days = days;
+      this.prefixSums = prefixSums;
+    }
+
+    private double total(final int fromDay, final int toDay) {
+      if (toDay < fromDay) {
+        throw new IllegalArgumentException("Start date should not be after end date.");
+      }
+      return FixedPoint.toDouble(scaledTotal(fromDay, toDay));
+    }
+
+    private long scaledTotal(final long fromDay, final long toDay) {
+      return Math.subtractExact(prefixSums[upperBound(toDay)],
+          prefixSums[upperBound(fromDay - 1)]);
+    }
+
+    private SettlementTotals rollingTotals(final int windowDays) {
+      if (windowDays < 1) {
+        throw new IllegalArgumentException("Window should be at least one day.");
+      }
+      final long[] amounts = new long[days.length];
+      for (int i = 0; i < days.length; i++) {
+        amounts[i] = scaledTotal((long) days[i] - windowDays + 1, days[i]);
+      }
+      return new SettlementTotals(days, amounts);
+    }
+
+    /**
+     * @return number of days that are less than or equal to the given day.
+     */
+    private int upperBound(final long day) {
+      int low = 0;
+      int high = days.length;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (days[mid] <= day) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
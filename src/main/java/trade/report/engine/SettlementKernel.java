@@ -0,0 +1,46 @@
+package trade.report.engine;
+
+import trade.report.model.InstructionBatch;
+
+/**
+ * Kernel summing the USD amounts of a batch per instruction type and settlement day. The scalar
+ * kernel is always available; builds with the {@code vector} profile add a kernel using the
+ * {@code jdk.incubator.vector} module, which is chosen when the module is present at run time, the
+ * hardware has 512-bit vectors and {@code report.vector} is not set to false.
+ */
+interface SettlementKernel {
+
+  String VECTOR_KERNEL = "trade.report.engine.VectorSettlementKernel";
+
+  SettlementKernel INSTANCE = load();
+
+  /**
+   * This method adds the USD amount of every instruction of the batch to the slot of its type and
+   * settlement day, {@code sums[type * days + epochDay - minDay]}.
+   *
+   * @param batch  - batch of trade instructions
+   * @param minDay - earliest settlement day of the batch
+   * @param days   - number of days from the earliest to the latest settlement day
+   * @param sums   - sums of each slot, updated only when the method returns true
+   * @return false when the batch cannot be summed by this kernel and should be summed by
+   * {@link ScalarSettlementKernel}.
+   * @throws ArithmeticException if a sum overflows
+   */
+  boolean sumByTypeAndDay(InstructionBatch batch, int minDay, int days, long[] sums);
+
+  private static SettlementKernel load() {
+    if (!Boolean.parseBoolean(System.getProperty("report.vector", "true"))
+        || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return ScalarSettlementKernel.INSTANCE;
+    }
+    try {
+      final Class<?> kernel = Class.forName(VECTOR_KERNEL);
+      return (boolean) kernel.getDeclaredMethod("isSupported").invoke(null)
+          ? (SettlementKernel) kernel.getDeclaredConstructor().newInstance()
+          : ScalarSettlementKernel.INSTANCE;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // Built without the vector profile.
+      return ScalarSettlementKernel.INSTANCE;
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package trade.report.enums;
+
+/**
+ * Dimensions of the settlement rollup cube.
+ */
+public enum CubeDimension {
+    SETTLEMENT_DATE,
+    ENTITY,
+    CURRENCY,
+    INSTRUCTION_TYPE
+}
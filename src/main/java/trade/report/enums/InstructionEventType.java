@@ -0,0 +1,8 @@
+package trade.report.enums;
+
+/**
+ * Kinds of change a client can make to a trade instruction.
+ */
+public enum InstructionEventType {
+    NEW, AMEND, CANCEL
+}
@@ -1,10 +1,10 @@
 package trade.report.enums;
 
-import java.util.stream.Stream;
-
 public enum InstructionType {
     BUY("B"), SELL("S");
 
+    private static final InstructionType[] VALUES = values();
+
     private final String name;
 
     InstructionType(final String name) {
@@ -12,8 +12,33 @@ public enum InstructionType {
     }
 
     public static InstructionType fromType(String instructionType) {
-        return Stream.of(InstructionType.values()).filter(value -> value.name.equals(instructionType))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Instruction type provided is invalid."));
+        if (instructionType != null && instructionType.length() == 1) {
+            final InstructionType type = fromCodeOrNull(instructionType.charAt(0));
+            if (type != null) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Instruction type provided is invalid.");
+    }
+
+    /**
+     * Resolves the instruction type from its single character code without allocating, for use
+     * when parsing raw bytes.
+     */
+    public static InstructionType fromCode(int code) {
+        final InstructionType type = fromCodeOrNull(code);
+        if (type == null) {
+            throw new IllegalArgumentException("Instruction type provided is invalid.");
+        }
+        return type;
+    }
+
+    private static InstructionType fromCodeOrNull(int code) {
+        for (InstructionType value : VALUES) {
+            if (value.name.charAt(0) == code) {
+                return value;
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,12 @@
+package trade.report.enums;
+
+/**
+ * Stages of the report pipeline measured by the pipeline metrics.
+ */
+public enum PipelineStage {
+    PARSE,
+    SETTLEMENT,
+    AGGREGATION,
+    RANKING,
+    OUTPUT
+}
@@ -0,0 +1,30 @@
+package trade.report.enums;
+
+import java.util.function.Supplier;
+import trade.report.output.CsvReportRenderer;
+import trade.report.output.JsonReportRenderer;
+import trade.report.output.ReportRenderer;
+import trade.report.output.TextReportRenderer;
+
+public enum ReportFormat {
+    TEXT(TextReportRenderer::new), CSV(CsvReportRenderer::new), JSON(JsonReportRenderer::new);
+
+    private final Supplier<ReportRenderer> rendererFactory;
+
+    ReportFormat(final Supplier<ReportRenderer> rendererFactory) {
+        this.rendererFactory = rendererFactory;
+    }
+
+    public static ReportFormat fromName(String format) {
+        for (ReportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Report format provided is invalid.");
+    }
+
+    public ReportRenderer createRenderer() {
+        return rendererFactory.get();
+    }
+}
@@ -0,0 +1,36 @@
+package trade.report.enums;
+
+import java.time.DayOfWeek;
+
+/**
+ * Working-week conventions used to decide which days a currency cannot settle on.
+ */
+public enum WeekendConvention {
+    SATURDAY_SUNDAY(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+    FRIDAY_SATURDAY(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+
+    private final DayOfWeek firstDay;
+    private final DayOfWeek secondDay;
+
+    WeekendConvention(final DayOfWeek firstDay, final DayOfWeek secondDay) {
+        this.firstDay = firstDay;
+        this.secondDay = secondDay;
+    }
+
+    /**
+     * Returns the convention of the given currency: AED and SAR have a Friday-Saturday weekend,
+     * every other currency a Saturday-Sunday one.
+     */
+    public static WeekendConvention forCurrency(final String currency) {
+        return "AED".equals(currency) || "SAR".equals(currency) ? FRIDAY_SATURDAY : SATURDAY_SUNDAY;
+    }
+
+    /**
+     * Checks whether the given day, as days since 1970-01-01, falls on the weekend.
+     */
+    public boolean isWeekend(final long epochDay) {
+        // 1970-01-01 was a Thursday, so shifting by 3 gives the DayOfWeek ordinal from Monday.
+        final int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L);
+        return dayOfWeek == firstDay.ordinal() || dayOfWeek == secondDay.ordinal();
+    }
+}
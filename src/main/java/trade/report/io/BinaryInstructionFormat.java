@@ -0,0 +1,85 @@
+package trade.report.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import trade.report.enums.InstructionType;
+import trade.report.util.FixedPoint;
+
+/**
+ * Class that defines the layout of the binary instruction format. A file starts with a fixed
+ * header, followed by one fixed-size record per instruction and then by the entity and currency
+ * dictionaries the records refer to. All values are little endian.
+ *
+ * <pre>
+ * header  : magic int, version short, record size short, record count long,
+ *           first and last actual settlement epoch day ints, dictionary offset long
+ * record  : USD amount, price per unit and agreed fx as fixed-point longs, number of units,
+ *           instruction, instructed settlement and actual settlement epoch days, entity id and
+ *           currency id as ints, instruction type ordinal byte, padding to 8 bytes
+ * strings : count int, then length int and UTF-8 bytes of each string in id order
+ * </pre>
+ */
+final class BinaryInstructionFormat {
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  static final int MAGIC = 0x54524942;
+  static final short VERSION = 1;
+
+  static final int HEADER_SIZE = 32;
+  static final int HEADER_MAGIC = 0;
+  static final int HEADER_VERSION = 4;
+  static final int HEADER_RECORD_SIZE = 6;
+  static final int HEADER_RECORD_COUNT = 8;
+  static final int HEADER_MIN_EPOCH_DAY = 16;
+  static final int HEADER_MAX_EPOCH_DAY = 20;
+  static final int HEADER_DICTIONARY_OFFSET = 24;
+
+  static final int RECORD_SIZE = 56;
+  static final int USD_AMOUNT = 0;
+  static final int PRICE_PER_UNIT = 8;
+  static final int AGREED_FX = 16;
+  static final int NUMBER_OF_UNITS = 24;
+  static final int INSTRUCTION_EPOCH_DAY = 28;
+  static final int INSTRUCTED_SETTLEMENT_EPOCH_DAY = 32;
+  static final int ACTUAL_SETTLEMENT_EPOCH_DAY = 36;
+  static final int ENTITY_ID = 40;
+  static final int CURRENCY_ID = 44;
+  static final int INSTRUCTION_TYPE = 48;
+
+  /**
+   * Number of records in each buffer of a large set of records, keeping every buffer below the
+   * 2 GB limit of a single buffer.
+   */
+  static final int SEGMENT_RECORDS = 1 << 24;
+
+  private BinaryInstructionFormat() {
+  }
+
+  /**
+   * This method encodes one record at the given offset of a buffer, converting the amounts to
+   * fixed point.
+   *
+   * @return actual settlement epoch day of the record.
+   */
+  static int putRecord(final ByteBuffer buffer, final int base,
+      final InstructionType instructionType, final int entityId, final int currencyId,
+      final double agreedFx, final int numberOfUnits, final double pricePerUnit,
+      final int instructionEpochDay, final int instructedSettlementEpochDay,
+      final int actualSettlementEpochDay) {
+    final long scaledAgreedFx = FixedPoint.toScaled(agreedFx);
+    final long scaledPricePerUnit = FixedPoint.toScaled(pricePerUnit);
+    buffer.putLong(base + USD_AMOUNT,
+            FixedPoint.usdAmount(scaledPricePerUnit, numberOfUnits, scaledAgreedFx))
+        .putLong(base + PRICE_PER_UNIT, scaledPricePerUnit)
+        .putLong(base + AGREED_FX, scaledAgreedFx)
+        .putInt(base + NUMBER_OF_UNITS, numberOfUnits)
+        .putInt(base + INSTRUCTION_EPOCH_DAY, instructionEpochDay)
+        .putInt(base + INSTRUCTED_SETTLEMENT_EPOCH_DAY, instructedSettlementEpochDay)
+        .putInt(base + ACTUAL_SETTLEMENT_EPOCH_DAY, actualSettlementEpochDay)
+        .putInt(base + ENTITY_ID, entityId)
+        .putInt(base + CURRENCY_ID, currencyId)
+        // Written as a long so the padding of a reused buffer is cleared along with the type.
+        .putLong(base + INSTRUCTION_TYPE, instructionType.ordinal());
+    return actualSettlementEpochDay;
+  }
+}
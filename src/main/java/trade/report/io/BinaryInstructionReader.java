@@ -0,0 +1,262 @@
+package trade.report.io;
+
+import static trade.report.io.BinaryInstructionFormat.ACTUAL_SETTLEMENT_EPOCH_DAY;
+import static trade.report.io.BinaryInstructionFormat.BYTE_ORDER;
+import static trade.report.io.BinaryInstructionFormat.ENTITY_ID;
+import static trade.report.io.BinaryInstructionFormat.HEADER_DICTIONARY_OFFSET;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MAGIC;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MAX_EPOCH_DAY;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MIN_EPOCH_DAY;
+import static trade.report.io.BinaryInstructionFormat.HEADER_RECORD_COUNT;
+import static trade.report.io.BinaryInstructionFormat.HEADER_RECORD_SIZE;
+import static trade.report.io.BinaryInstructionFormat.HEADER_SIZE;
+import static trade.report.io.BinaryInstructionFormat.HEADER_VERSION;
+import static trade.report.io.BinaryInstructionFormat.INSTRUCTION_TYPE;
+import static trade.report.io.BinaryInstructionFormat.MAGIC;
+import static trade.report.io.BinaryInstructionFormat.RECORD_SIZE;
+import static trade.report.io.BinaryInstructionFormat.SEGMENT_RECORDS;
+import static trade.report.io.BinaryInstructionFormat.USD_AMOUNT;
+import static trade.report.io.BinaryInstructionFormat.VERSION;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.model.SettlementReport;
+import trade.report.util.FixedPoint;
+import trade.report.util.StringDictionary;
+import trade.report.util.TopKSelector;
+
+/**
+ * This class reads files written by {@link BinaryInstructionWriter}. The records are memory mapped
+ * and aggregated in place with primitive accumulators indexed by epoch day and entity id, so no
+ * instruction objects are created and repeated reports over the same file run from the page cache.
+ *
+ * <p>A mapping stays valid after the file channel is closed and is released when the reader is no
+ * longer reachable.
+ */
+public final class BinaryInstructionReader {
+
+  /**
+   * Largest span of settlement dates, in days, accumulated into dense arrays. Wider spans are
+   * aggregated through a {@link ReportAggregator} instead.
+   */
+  private static final int DENSE_DAY_LIMIT = 1 << 22;
+
+  private final ByteBuffer[] segments;
+  private final long count;
+  private final int minEpochDay;
+  private final int maxEpochDay;
+  private final StringDictionary entityNames;
+  private final StringDictionary currencies;
+
+  /**
+   * Creates a reader over records already held in buffers, which must be exactly filled with
+   * records.
+   */
+  BinaryInstructionReader(final ByteBuffer[] segments, final long count,
+      final int minEpochDay, final int maxEpochDay, final StringDictionary entityNames,
+      final StringDictionary currencies) {
+    this.segments = segments;
+    this.count = count;
+    this.minEpochDay = minEpochDay;
+    this.maxEpochDay = maxEpochDay;
+    this.entityNames = entityNames;
+    this.currencies = currencies;
+  }
+
+  /**
+   * This method maps a binary instruction file and reads its dictionaries.
+   *
+   * @param path - path of the binary instruction file
+   * @return reader over the file.
+   * @throws IOException if the file cannot be read
+   */
+  public static BinaryInstructionReader open(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = read(channel, 0, HEADER_SIZE);
+      if (header.getInt(HEADER_MAGIC) != MAGIC) {
+        throw new IllegalArgumentException("File is not a binary instruction file.");
+      }
+      if (header.getShort(HEADER_VERSION) != VERSION
+          || header.getShort(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+        throw new IllegalArgumentException("Binary instruction file version "
+            + header.getShort(HEADER_VERSION) + " is not supported.");
+      }
+      final long count = header.getLong(HEADER_RECORD_COUNT);
+      final long dictionaryOffset = header.getLong(HEADER_DICTIONARY_OFFSET);
+      if (count < 0 || dictionaryOffset != HEADER_SIZE + count * RECORD_SIZE
+          || dictionaryOffset > channel.size()) {
+        throw new IllegalArgumentException("Binary instruction file is truncated.");
+      }
+
+      final ByteBuffer[] segments = new ByteBuffer[(int) ((count + SEGMENT_RECORDS - 1)
+          / SEGMENT_RECORDS)];
+      for (int i = 0; i < segments.length; i++) {
+        final long first = (long) i * SEGMENT_RECORDS;
+        final long records = Math.min(SEGMENT_RECORDS, count - first);
+        segments[i] = channel.map(MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE,
+            records * RECORD_SIZE).order(BYTE_ORDER);
+      }
+
+      final ByteBuffer dictionaries = read(channel, dictionaryOffset,
+          Math.toIntExact(channel.size() - dictionaryOffset));
+      final StringDictionary entityNames = readStrings(dictionaries);
+      final StringDictionary currencies = readStrings(dictionaries);
+      return new BinaryInstructionReader(segments, count, header.getInt(HEADER_MIN_EPOCH_DAY),
+          header.getInt(HEADER_MAX_EPOCH_DAY), entityNames, currencies);
+    }
+  }
+
+  public long size() {
+    return count;
+  }
+
+  public StringDictionary getEntityNames() {
+    return entityNames;
+  }
+
+  public StringDictionary getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * This method aggregates every record into a settlement report, ranking every entity.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport aggregate() {
+    return aggregate(Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method aggregates every record into a settlement report in a single pass over the mapped
+   * file. Rankings are limited to the entities with the highest USD totals and entities with equal
+   * totals keep the order in which they first appear for the instruction type, as in
+   * {@link ReportAggregator}.
+   *
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport aggregate(final int rankingLimit) {
+    if (rankingLimit < 0) {
+      throw new IllegalArgumentException("Ranking limit should not be negative.");
+    }
+    try (Span span = PipelineMetrics.span(PipelineStage.AGGREGATION)) {
+      span.items(count);
+      final long days = count == 0 ? 0 : (long) maxEpochDay - minEpochDay + 1;
+      return days > DENSE_DAY_LIMIT ? aggregateSparse(rankingLimit)
+          : aggregateDense(rankingLimit, (int) days);
+    }
+  }
+
+  private SettlementReport aggregateDense(final int rankingLimit, final int span) {
+    final int types = InstructionType.values().length;
+    final int entities = entityNames.size();
+    final long[][] daySums = new long[types][span];
+    final boolean[][] dayPresent = new boolean[types][span];
+    final long[][] entitySums = new long[types][entities];
+    final boolean[][] entityPresent = new boolean[types][entities];
+    final int[][] entityOrder = new int[types][entities];
+    final int[] entityCounts = new int[types];
+
+    for (final ByteBuffer segment : segments) {
+      final int limit = segment.capacity();
+      for (int base = 0; base < limit; base += RECORD_SIZE) {
+        final int type = segment.get(base + INSTRUCTION_TYPE);
+        final int day = segment.getInt(base + ACTUAL_SETTLEMENT_EPOCH_DAY) - minEpochDay;
+        final int entity = segment.getInt(base + ENTITY_ID);
+        final long amount = segment.getLong(base + USD_AMOUNT);
+        daySums[type][day] = Math.addExact(daySums[type][day], amount);
+        dayPresent[type][day] = true;
+        entitySums[type][entity] = Math.addExact(entitySums[type][entity], amount);
+        if (!entityPresent[type][entity]) {
+          entityPresent[type][entity] = true;
+          entityOrder[type][entityCounts[type]++] = entity;
+        }
+      }
+    }
+
+    final Map<InstructionType, Map<LocalDate, Double>> settlements =
+        new EnumMap<>(InstructionType.class);
+    final Map<InstructionType, List<Map.Entry<String, Double>>> rankings =
+        new EnumMap<>(InstructionType.class);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final int type = instructionType.ordinal();
+      final Map<LocalDate, Double> dateTotals = new TreeMap<>();
+      for (int day = 0; day < span; day++) {
+        if (dayPresent[type][day]) {
+          dateTotals.put(LocalDate.ofEpochDay(minEpochDay + day),
+              FixedPoint.toDouble(daySums[type][day]));
+        }
+      }
+      settlements.put(instructionType, dateTotals);
+
+      final long[] amounts = new long[entityCounts[type]];
+      for (int i = 0; i < amounts.length; i++) {
+        amounts[i] = entitySums[type][entityOrder[type][i]];
+      }
+      final int[] positions = TopKSelector.select(amounts, amounts.length, rankingLimit);
+      final List<Map.Entry<String, Double>> entries = new ArrayList<>(positions.length);
+      for (final int position : positions) {
+        entries.add(Map.entry(entityNames.decode(entityOrder[type][position]),
+            FixedPoint.toDouble(amounts[position])));
+      }
+      rankings.put(instructionType, entries);
+    }
+    return new SettlementReport(settlements, rankings);
+  }
+
+  private SettlementReport aggregateSparse(final int rankingLimit) {
+    final InstructionType[] instructionTypes = InstructionType.values();
+    final ReportAggregator aggregator = new ReportAggregator();
+    for (final ByteBuffer segment : segments) {
+      final int limit = segment.capacity();
+      for (int base = 0; base < limit; base += RECORD_SIZE) {
+        aggregator.add(instructionTypes[segment.get(base + INSTRUCTION_TYPE)],
+            LocalDate.ofEpochDay(segment.getInt(base + ACTUAL_SETTLEMENT_EPOCH_DAY)),
+            entityNames.decode(segment.getInt(base + ENTITY_ID)),
+            segment.getLong(base + USD_AMOUNT));
+      }
+    }
+    return aggregator.toReport(rankingLimit);
+  }
+
+  private static ByteBuffer read(final FileChannel channel, final long position, final int size)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(size).order(BYTE_ORDER);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IllegalArgumentException("Binary instruction file is truncated.");
+      }
+    }
+    return buffer.flip();
+  }
+
+  private static StringDictionary readStrings(final ByteBuffer buffer) {
+    final StringDictionary dictionary = new StringDictionary();
+    final int size = buffer.getInt();
+    for (int id = 0; id < size; id++) {
+      final byte[] bytes = new byte[buffer.getInt()];
+      buffer.get(bytes);
+      dictionary.encode(new String(bytes, StandardCharsets.UTF_8));
+    }
+    return dictionary;
+  }
+}
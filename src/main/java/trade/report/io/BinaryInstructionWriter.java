@@ -0,0 +1,232 @@
+package trade.report.io;
+
+import static trade.report.io.BinaryInstructionFormat.BYTE_ORDER;
+import static trade.report.io.BinaryInstructionFormat.HEADER_DICTIONARY_OFFSET;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MAGIC;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MAX_EPOCH_DAY;
+import static trade.report.io.BinaryInstructionFormat.HEADER_MIN_EPOCH_DAY;
+import static trade.report.io.BinaryInstructionFormat.HEADER_RECORD_COUNT;
+import static trade.report.io.BinaryInstructionFormat.HEADER_RECORD_SIZE;
+import static trade.report.io.BinaryInstructionFormat.HEADER_SIZE;
+import static trade.report.io.BinaryInstructionFormat.HEADER_VERSION;
+import static trade.report.io.BinaryInstructionFormat.MAGIC;
+import static trade.report.io.BinaryInstructionFormat.RECORD_SIZE;
+import static trade.report.io.BinaryInstructionFormat.VERSION;
+import static trade.report.io.BinaryInstructionFormat.putRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.model.TradeInstruction;
+import trade.report.util.StringDictionary;
+
+/**
+ * This class converts trade instructions into the binary instruction format read by
+ * {@link BinaryInstructionReader}. Records are encoded into a reusable direct buffer as they
+ * arrive; the dictionaries and the header are written when the writer is closed.
+ */
+public final class BinaryInstructionWriter implements Closeable {
+
+  private static final int BUFFER_RECORDS = 4096;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer =
+      ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(BYTE_ORDER);
+  private final StringDictionary entityNames = new StringDictionary();
+  private final StringDictionary currencies = new StringDictionary();
+  private long count;
+  private int minEpochDay = Integer.MAX_VALUE;
+  private int maxEpochDay = Integer.MIN_VALUE;
+  private boolean closed;
+
+  private BinaryInstructionWriter(final FileChannel channel) throws IOException {
+    this.channel = channel;
+    channel.position(HEADER_SIZE);
+  }
+
+  /**
+   * This method opens a writer that replaces the content of the given file.
+   *
+   * @param path - path of the binary instruction file
+   * @return writer over the file.
+   * @throws IOException if the file cannot be opened
+   */
+  public static BinaryInstructionWriter open(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      return new BinaryInstructionWriter(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * This method converts a delimited instruction file into a binary instruction file, settling
+   * each record on the given calendar. The records are written to a temporary file that replaces
+   * the target only once every line has been converted, so a line that cannot be parsed leaves no
+   * truncated file behind.
+   *
+   * @param source             - path of the delimited instruction file
+   * @param target             - path of the binary instruction file
+   * @param settlementCalendar - calendar deciding the actual settlement dates
+   * @return number of instructions converted.
+   * @throws IOException if a file cannot be read or written
+   */
+  public static long convert(final Path source, final Path target,
+      final SettlementCalendar settlementCalendar) throws IOException {
+    Objects.requireNonNull(target, "Path should be provided.");
+    final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    final long count;
+    try {
+      try (BinaryInstructionWriter writer = open(temporary)) {
+        new InstructionRecordParser(TradeInstructionReader.DEFAULT_DELIMITER, settlementCalendar)
+            .parseFile(source, record -> {
+              try {
+                writer.write(record);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+        count = writer.count;
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    } catch (IOException | RuntimeException e) {
+      try {
+        Files.deleteIfExists(temporary);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    return count;
+  }
+
+  /**
+   * This method appends a trade instruction.
+   *
+   * @param tradeInstruction - trade instruction to be written
+   * @throws IOException if the file cannot be written
+   */
+  public void write(final TradeInstruction tradeInstruction) throws IOException {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    write(tradeInstruction.getInstructionType(), tradeInstruction.getEntityName(),
+        tradeInstruction.getCurrency(), tradeInstruction.getAgreedFx(),
+        tradeInstruction.getNumberOfUnits(), tradeInstruction.getPricePerUnit(),
+        Math.toIntExact(Objects.requireNonNull(tradeInstruction.getInstructionDate(),
+            "Instruction date should be provided.").toEpochDay()),
+        Math.toIntExact(tradeInstruction.getInstructedSettlementDate().toEpochDay()),
+        Math.toIntExact(tradeInstruction.getActualSettlementDate().toEpochDay()));
+  }
+
+  /**
+   * This method appends a parsed instruction record.
+   *
+   * @param record - record to be written
+   * @throws IOException if the file cannot be written
+   */
+  public void write(final InstructionRecord record) throws IOException {
+    write(record.getInstructionType(), record.getEntityName(), record.getCurrency(),
+        record.getAgreedFx(), record.getNumberOfUnits(), record.getPricePerUnit(),
+        record.getInstructionEpochDay(), record.getInstructedSettlementEpochDay(),
+        record.getActualSettlementEpochDay());
+  }
+
+  private void write(final InstructionType instructionType, final String entityName,
+      final String currency, final double agreedFx, final int numberOfUnits,
+      final double pricePerUnit, final int instructionEpochDay,
+      final int instructedSettlementEpochDay, final int actualSettlementEpochDay)
+      throws IOException {
+    if (closed) {
+      throw new IllegalStateException("Writer is closed.");
+    }
+    final int entityId = entityNames.encode(entityName);
+    final int currencyId = currencies.encode(currency);
+    if (buffer.remaining() < RECORD_SIZE) {
+      drain();
+    }
+    final int base = buffer.position();
+    putRecord(buffer, base, instructionType, entityId, currencyId, agreedFx, numberOfUnits,
+        pricePerUnit, instructionEpochDay, instructedSettlementEpochDay, actualSettlementEpochDay);
+    buffer.position(base + RECORD_SIZE);
+    minEpochDay = Math.min(minEpochDay, actualSettlementEpochDay);
+    maxEpochDay = Math.max(maxEpochDay, actualSettlementEpochDay);
+    count++;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * This method writes the buffered records, the dictionaries and the header, and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (channel) {
+      drain();
+      final long dictionaryOffset = channel.position();
+      writeStrings(entityNames);
+      writeStrings(currencies);
+      drain();
+
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+      header.putInt(HEADER_MAGIC, MAGIC)
+          .putShort(HEADER_VERSION, VERSION)
+          .putShort(HEADER_RECORD_SIZE, (short) RECORD_SIZE)
+          .putLong(HEADER_RECORD_COUNT, count)
+          .putInt(HEADER_MIN_EPOCH_DAY, count == 0 ? 0 : minEpochDay)
+          .putInt(HEADER_MAX_EPOCH_DAY, count == 0 ? 0 : maxEpochDay)
+          .putLong(HEADER_DICTIONARY_OFFSET, dictionaryOffset);
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+    }
+  }
+
+  private void writeStrings(final StringDictionary dictionary) throws IOException {
+    if (buffer.remaining() < Integer.BYTES) {
+      drain();
+    }
+    buffer.putInt(dictionary.size());
+    for (int id = 0; id < dictionary.size(); id++) {
+      final byte[] bytes = dictionary.decode(id).getBytes(StandardCharsets.UTF_8);
+      if (buffer.remaining() < Integer.BYTES + bytes.length) {
+        drain();
+      }
+      if (buffer.remaining() < Integer.BYTES + bytes.length) {
+        throw new IllegalArgumentException("String is too long for the binary format.");
+      }
+      buffer.putInt(bytes.length).put(bytes);
+    }
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
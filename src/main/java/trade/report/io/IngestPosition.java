@@ -0,0 +1,33 @@
+package trade.report.io;
+
+/**
+ * Class that holds how far an instruction file has been ingested: the byte offset just after the
+ * last complete line read and the number of lines up to that offset.
+ */
+public final class IngestPosition {
+
+  public static final IngestPosition START = new IngestPosition(0, 0);
+
+  private final long byteOffset;
+  private final long lineCount;
+
+  /**
+   * @param byteOffset offset of the first byte not yet ingested
+   * @param lineCount  number of lines before the offset
+   */
+  public IngestPosition(final long byteOffset, final long lineCount) {
+    if (byteOffset < 0 || lineCount < 0) {
+      throw new IllegalArgumentException("Ingest position should not be negative.");
+    }
+    this.byteOffset = byteOffset;
+    this.lineCount = lineCount;
+  }
+
+  public long getByteOffset() {
+    return byteOffset;
+  }
+
+  public long getLineCount() {
+    return lineCount;
+  }
+}
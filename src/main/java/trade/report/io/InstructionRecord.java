@@ -0,0 +1,127 @@
+package trade.report.io;
+
+import java.time.LocalDate;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.model.TradeInstruction;
+import trade.report.util.FixedPoint;
+
+/**
+ * Class that holds the fields of a parsed instruction record in primitive form. A single instance
+ * is reused for every record read by a parser, so it must not be retained beyond the callback that
+ * receives it; use {@link #toTradeInstruction()} to keep a copy.
+ */
+public final class InstructionRecord {
+
+  private String entityName;
+  private int entityId;
+  private InstructionType instructionType;
+  private double agreedFx;
+  private String currency;
+  private int currencyId;
+  private int instructionEpochDay;
+  private int instructedSettlementEpochDay;
+  private int actualSettlementEpochDay;
+  private int numberOfUnits;
+  private double pricePerUnit;
+  private SettlementCalendar settlementCalendar;
+
+  void set(final String entityName, final int entityId, final InstructionType instructionType,
+      final double agreedFx, final String currency, final int currencyId,
+      final int instructionEpochDay, final int instructedSettlementEpochDay,
+      final int numberOfUnits, final double pricePerUnit,
+      final SettlementCalendar settlementCalendar) {
+    this.entityName = entityName;
+    this.entityId = entityId;
+    this.instructionType = instructionType;
+    this.agreedFx = agreedFx;
+    this.currency = currency;
+    this.currencyId = currencyId;
+    this.instructionEpochDay = instructionEpochDay;
+    this.instructedSettlementEpochDay = instructedSettlementEpochDay;
+    this.numberOfUnits = numberOfUnits;
+    this.pricePerUnit = pricePerUnit;
+    this.settlementCalendar = settlementCalendar;
+  }
+
+  void setActualSettlementEpochDay(final int actualSettlementEpochDay) {
+    this.actualSettlementEpochDay = actualSettlementEpochDay;
+  }
+
+  public String getEntityName() {
+    return entityName;
+  }
+
+  /**
+   * @return id of the entity in the symbol table of the parser.
+   */
+  public int getEntityId() {
+    return entityId;
+  }
+
+  public InstructionType getInstructionType() {
+    return instructionType;
+  }
+
+  public double getAgreedFx() {
+    return agreedFx;
+  }
+
+  public String getCurrency() {
+    return currency;
+  }
+
+  /**
+   * @return id of the currency in the symbol table of the parser.
+   */
+  public int getCurrencyId() {
+    return currencyId;
+  }
+
+  public int getInstructionEpochDay() {
+    return instructionEpochDay;
+  }
+
+  public int getInstructedSettlementEpochDay() {
+    return instructedSettlementEpochDay;
+  }
+
+  public int getActualSettlementEpochDay() {
+    return actualSettlementEpochDay;
+  }
+
+  public int getNumberOfUnits() {
+    return numberOfUnits;
+  }
+
+  public double getPricePerUnit() {
+    return pricePerUnit;
+  }
+
+  public double calculateUSDAmount() {
+    return pricePerUnit * numberOfUnits * agreedFx;
+  }
+
+  /**
+   * This method calculates the USD amount in fixed point, exactly up to rounding to the nearest
+   * millionth of a dollar, so totals built from it do not depend on the order of addition.
+   *
+   * @return USD amount scaled by {@link FixedPoint#SCALE}.
+   */
+  public long calculateScaledUSDAmount() {
+    return FixedPoint.usdAmount(FixedPoint.toScaled(pricePerUnit), numberOfUnits,
+        FixedPoint.toScaled(agreedFx));
+  }
+
+  /**
+   * This method copies the record into an immutable trade instruction.
+   *
+   * @return trade instruction with the values of this record.
+   */
+  public TradeInstruction toTradeInstruction() {
+    return new TradeInstruction(entityName, instructionType, agreedFx, currency,
+        LocalDate.ofEpochDay(instructionEpochDay),
+        LocalDate.ofEpochDay(instructedSettlementEpochDay), numberOfUnits, pricePerUnit,
+        settlementCalendar);
+  }
+}
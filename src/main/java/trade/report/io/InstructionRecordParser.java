@@ -0,0 +1,534 @@
+package trade.report.io;
+
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.util.ByteStringInterner;
+import trade.report.util.SymbolTable;
+
+/**
+ * This class parses delimited instruction records straight from bytes into a reusable
+ * {@link InstructionRecord}. Dates are decoded to epoch days, the instruction type is resolved from
+ * its code and entity names and currencies are interned, so parsing a record whose values have been
+ * seen before does not allocate.
+ *
+ * <p>The record layout is the same as the one read by {@link TradeInstructionReader}. Values the
+ * fast path does not recognise, such as numbers in exponent notation, fall back to the standard
+ * parsers so both paths produce identical instructions.
+ */
+public final class InstructionRecordParser {
+
+  private static final int FIELD_COUNT = 8;
+  private static final int BATCH_RECORDS = 1024;
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final byte[][] MONTHS = {
+      bytes("Jan"), bytes("Feb"), bytes("Mar"), bytes("Apr"), bytes("May"), bytes("Jun"),
+      bytes("Jul"), bytes("Aug"), bytes("Sep"), bytes("Oct"), bytes("Nov"), bytes("Dec")};
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private final byte delimiter;
+  private final int bufferSize;
+  private final SettlementCalendar settlementCalendar;
+  private final SymbolTable symbolTable;
+  private final ByteStringInterner entityNames = new ByteStringInterner();
+  private final ByteStringInterner currencies = new ByteStringInterner();
+  private final int[] fieldStarts = new int[FIELD_COUNT];
+  private final int[] fieldEnds = new int[FIELD_COUNT];
+  private final Function<PipelineStage, Span> spans;
+  private InstructionRecord[] batch;
+  private long[] batchLineNumbers;
+
+  public InstructionRecordParser() {
+    this(TradeInstructionReader.DEFAULT_DELIMITER, WeekendSettlementCalendar.INSTANCE);
+  }
+
+  /**
+   * @param delimiter          character separating the fields of a record
+   * @param settlementCalendar calendar deciding the actual settlement date of each record
+   */
+  public InstructionRecordParser(final char delimiter,
+      final SettlementCalendar settlementCalendar) {
+    this(delimiter, settlementCalendar, new SymbolTable());
+  }
+
+  /**
+   * @param delimiter          character separating the fields of a record
+   * @param settlementCalendar calendar deciding the actual settlement date of each record
+   * @param symbolTable        table assigning the entity and currency ids of the records
+   */
+  public InstructionRecordParser(final char delimiter,
+      final SettlementCalendar settlementCalendar, final SymbolTable symbolTable) {
+    this(delimiter, settlementCalendar, symbolTable, DEFAULT_BUFFER_SIZE);
+  }
+
+  InstructionRecordParser(final char delimiter, final SettlementCalendar settlementCalendar,
+      final SymbolTable symbolTable, final int bufferSize) {
+    this(delimiter, settlementCalendar, symbolTable, bufferSize, PipelineMetrics::span);
+  }
+
+  /**
+   * @param spans starts the span measuring a stage, by default on the global pipeline metrics
+   */
+  InstructionRecordParser(final char delimiter, final SettlementCalendar settlementCalendar,
+      final SymbolTable symbolTable, final int bufferSize,
+      final Function<PipelineStage, Span> spans) {
+    Objects.requireNonNull(settlementCalendar, "Settlement calendar should be provided.");
+    Objects.requireNonNull(symbolTable, "Symbol table should be provided.");
+    this.delimiter = (byte) delimiter;
+    this.settlementCalendar = settlementCalendar;
+    this.symbolTable = symbolTable;
+    this.bufferSize = bufferSize;
+    this.spans = spans;
+  }
+
+  /**
+   * This method reads an instruction file through a file channel and passes each parsed record to
+   * the given consumer. Blank lines and lines starting with {@code #} are skipped. Records are
+   * parsed, settled and passed on in batches, each step measured as its own pipeline stage.
+   *
+   * @param path     - path of the instruction file
+   * @param consumer - receiver of the parsed records; the record instance is reused
+   * @return number of records read.
+   * @throws IOException if the file cannot be read
+   */
+  public long parseFile(final Path path, final Consumer<? super InstructionRecord> consumer)
+      throws IOException {
+    return parse(path, new long[2], false, consumer);
+  }
+
+  /**
+   * This method reads the complete lines of an instruction file after the given position and passes
+   * each parsed record to the given consumer. A last line without a line break may still be being
+   * written and is left for the next call.
+   *
+   * @param path     - path of the instruction file
+   * @param position - position up to which the file has already been read
+   * @param consumer - receiver of the parsed records; the record instance is reused
+   * @return position after the last complete line read.
+   * @throws IOException if the file cannot be read
+   */
+  public IngestPosition parseFrom(final Path path, final IngestPosition position,
+      final Consumer<? super InstructionRecord> consumer) throws IOException {
+    Objects.requireNonNull(position, "Ingest position should be provided.");
+    final long[] offsetAndLine = {position.getByteOffset(), position.getLineCount()};
+    parse(path, offsetAndLine, true, consumer);
+    return new IngestPosition(offsetAndLine[0], offsetAndLine[1]);
+  }
+
+  /**
+   * This method reads lines from the offset and line count held in the given array, and updates
+   * the array to the offset after the last line read and the number of lines up to it.
+   */
+  private long parse(final Path path, final long[] offsetAndLine,
+      final boolean completeLinesOnly, final Consumer<? super InstructionRecord> consumer)
+      throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    Objects.requireNonNull(consumer, "Consumer should be provided.");
+    ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+    long offset = offsetAndLine[0];
+    long lineNumber = offsetAndLine[1];
+    long count = 0;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (offset > channel.size()) {
+        throw new IllegalArgumentException("File " + path + " is shorter than the ingest offset "
+            + offset + ".");
+      }
+      channel.position(offset);
+      boolean endOfInput = false;
+      while (!endOfInput) {
+        if (!buffer.hasRemaining()) {
+          buffer = grow(buffer);
+        }
+        endOfInput = channel.read(buffer) < 0;
+        final byte[] bytes = buffer.array();
+        final int limit = buffer.position();
+        int linesEnd = limit;
+        while (linesEnd > 0 && bytes[linesEnd - 1] != '\n') {
+          linesEnd--;
+        }
+        if (endOfInput && !completeLinesOnly) {
+          linesEnd = limit;
+        }
+        count += parseLines(bytes, 0, linesEnd, lineNumber + 1, consumer, true);
+        lineNumber += lineCount(bytes, 0, linesEnd);
+        offset += linesEnd;
+        buffer.position(linesEnd).limit(limit);
+        buffer.compact();
+      }
+    }
+    offsetAndLine[0] = offset;
+    offsetAndLine[1] = lineNumber;
+    return count;
+  }
+
+  /**
+   * This method parses the lines between the given offsets and passes each record to the consumer,
+   * skipping blank and comment lines. Lines are handled in batches: the records of a batch are
+   * parsed, then settled on the calendar, then passed to the consumer, and the steps are measured
+   * as the parse, settlement and, when the consumer aggregates the records, aggregation stages.
+   *
+   * @param bytes           - buffer holding the lines
+   * @param start           - offset of the first line, inclusive
+   * @param end             - offset after the last line, exclusive; the last line break is optional
+   * @param firstLineNumber - number of the first line, used in error messages
+   * @param consumer        - receiver of the parsed records; the record instances are reused
+   * @param aggregating     - whether the consumer aggregates the records rather than collecting
+   *                        them for a later stage that is measured on its own
+   * @return number of records passed to the consumer.
+   */
+  long parseLines(final byte[] bytes, final int start, final int end, final long firstLineNumber,
+      final Consumer<? super InstructionRecord> consumer, final boolean aggregating) {
+    if (batch == null) {
+      batch = new InstructionRecord[BATCH_RECORDS];
+      batchLineNumbers = new long[BATCH_RECORDS];
+      for (int i = 0; i < BATCH_RECORDS; i++) {
+        batch[i] = new InstructionRecord();
+      }
+    }
+    long count = 0;
+    long lineNumber = firstLineNumber;
+    int lineStart = start;
+    while (lineStart < end) {
+      int size = 0;
+      try (Span span = spans.apply(PipelineStage.PARSE)) {
+        while (lineStart < end && size < BATCH_RECORDS) {
+          int lineEnd = lineStart;
+          while (lineEnd < end && bytes[lineEnd] != '\n') {
+            lineEnd++;
+          }
+          if (parseLine(bytes, lineStart, lineEnd, lineNumber, batch[size])) {
+            batchLineNumbers[size++] = lineNumber;
+          }
+          lineNumber++;
+          lineStart = lineEnd + 1;
+        }
+        span.items(size);
+      }
+      if (size == 0) {
+        continue;
+      }
+      try (Span span = spans.apply(PipelineStage.SETTLEMENT)) {
+        span.items(size);
+        for (int i = 0; i < size; i++) {
+          try {
+            settle(batch[i]);
+          } catch (RuntimeException e) {
+            throw invalidLine(batchLineNumbers[i], e);
+          }
+        }
+      }
+      if (aggregating) {
+        try (Span span = spans.apply(PipelineStage.AGGREGATION)) {
+          span.items(size);
+          accept(size, consumer);
+        }
+      } else {
+        accept(size, consumer);
+      }
+      count += size;
+    }
+    return count;
+  }
+
+  private void accept(final int size, final Consumer<? super InstructionRecord> consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(batch[i]);
+    }
+  }
+
+  /**
+   * This method parses the fields of one line into the given record, without settling it, and
+   * skips blank and comment lines.
+   *
+   * @return whether the line held a record.
+   */
+  private boolean parseLine(final byte[] bytes, final int start, int end, final long lineNumber,
+      final InstructionRecord record) {
+    if (end > start && bytes[end - 1] == '\r') {
+      end--;
+    }
+    if (isBlank(bytes, start, end) || bytes[start] == '#') {
+      return false;
+    }
+    try {
+      parseFields(bytes, start, end, record);
+    } catch (RuntimeException e) {
+      throw invalidLine(lineNumber, e);
+    }
+    return true;
+  }
+
+  private static IllegalArgumentException invalidLine(final long lineNumber,
+      final RuntimeException e) {
+    return new IllegalArgumentException(
+        "Invalid trade instruction at line " + lineNumber + ": " + e.getMessage(), e);
+  }
+
+  /**
+   * This method parses a single delimited record into the given record instance.
+   *
+   * @param bytes  - buffer holding the record
+   * @param start  - offset of the first byte of the record, inclusive
+   * @param end    - offset of the last byte of the record, exclusive
+   * @param record - record to populate
+   */
+  public void parse(final byte[] bytes, final int start, final int end,
+      final InstructionRecord record) {
+    parseFields(bytes, start, end, record);
+    settle(record);
+  }
+
+  private void parseFields(final byte[] bytes, final int start, final int end,
+      final InstructionRecord record) {
+    splitFields(bytes, start, end);
+
+    final String entityName = entityNames.intern(bytes, fieldStarts[0], fieldEnds[0]);
+    final InstructionType instructionType = parseInstructionType(bytes, fieldStarts[1],
+        fieldEnds[1]);
+    final double agreedFx = parseDecimal(bytes, fieldStarts[2], fieldEnds[2]);
+    final String currency = currencies.intern(bytes, fieldStarts[3], fieldEnds[3]);
+    final int instructionEpochDay = parseEpochDay(bytes, fieldStarts[4], fieldEnds[4]);
+    final int instructedSettlementEpochDay = parseEpochDay(bytes, fieldStarts[5], fieldEnds[5]);
+    final int numberOfUnits = parseInt(bytes, fieldStarts[6], fieldEnds[6]);
+    final double pricePerUnit = parseDecimal(bytes, fieldStarts[7], fieldEnds[7]);
+    final int entityId = symbolTable.encodeEntity(entityName);
+    final int currencyId = symbolTable.encodeCurrency(currency);
+
+    record.set(entityName, entityId, instructionType, agreedFx, currency, currencyId,
+        instructionEpochDay, instructedSettlementEpochDay, numberOfUnits, pricePerUnit,
+        settlementCalendar);
+  }
+
+  private void settle(final InstructionRecord record) {
+    final long actualSettlementEpochDay = settlementCalendar.actualSettlementEpochDay(
+        record.getInstructedSettlementEpochDay(), record.getCurrencyId(), symbolTable);
+    record.setActualSettlementEpochDay(Math.toIntExact(actualSettlementEpochDay));
+  }
+
+  private void splitFields(final byte[] bytes, final int start, final int end) {
+    int fieldStart = start;
+    int field = 0;
+    for (int i = start; i <= end; i++) {
+      if (i == end || bytes[i] == delimiter) {
+        if (field == FIELD_COUNT) {
+          throw new IllegalArgumentException("too many fields");
+        }
+        int s = fieldStart;
+        int e = i;
+        while (s < e && isWhitespace(bytes[s])) {
+          s++;
+        }
+        while (e > s && isWhitespace(bytes[e - 1])) {
+          e--;
+        }
+        fieldStarts[field] = s;
+        fieldEnds[field] = e;
+        field++;
+        fieldStart = i + 1;
+      }
+    }
+    if (field != FIELD_COUNT) {
+      throw new IllegalArgumentException(
+          "expected " + FIELD_COUNT + " fields but found " + field);
+    }
+  }
+
+  private static InstructionType parseInstructionType(final byte[] bytes, final int start,
+      final int end) {
+    if (end - start != 1) {
+      throw new IllegalArgumentException("Instruction type provided is invalid.");
+    }
+    return InstructionType.fromCode(bytes[start]);
+  }
+
+  /**
+   * This method parses a "dd MMM yyyy" date into days since 1970-01-01.
+   */
+  static int parseEpochDay(final byte[] bytes, final int start, final int end) {
+    if (end - start == 11 && bytes[start + 2] == ' ' && bytes[start + 6] == ' ') {
+      final int day = digits(bytes, start, start + 2);
+      final int month = month(bytes, start + 3);
+      final int year = digits(bytes, start + 7, start + 11);
+      if (day > 0 && month > 0 && year > 0 && day <= lengthOfMonth(year, month)) {
+        return (int) toEpochDay(year, month, day);
+      }
+    }
+    return (int) LocalDate.parse(string(bytes, start, end), dateFormatter).toEpochDay();
+  }
+
+  static double parseDecimal(final byte[] bytes, final int start, final int end) {
+    int i = start;
+    final boolean negative = i < end && bytes[i] == '-';
+    if (negative || (i < end && bytes[i] == '+')) {
+      i++;
+    }
+    long mantissa = 0;
+    int scale = -1;
+    int digitCount = 0;
+    for (; i < end; i++) {
+      final byte b = bytes[i];
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        digitCount++;
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if (b == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        break;
+      }
+    }
+    scale = Math.max(scale, 0);
+    if (i == end && digitCount > 0 && digitCount <= 18 && mantissa <= MAX_EXACT_MANTISSA
+        && scale < POWERS_OF_TEN.length) {
+      // Both operands are exact doubles, so a single division is correctly rounded.
+      final double value = mantissa / POWERS_OF_TEN[scale];
+      return negative ? -value : value;
+    }
+    return Double.parseDouble(string(bytes, start, end));
+  }
+
+  static int parseInt(final byte[] bytes, final int start, final int end) {
+    int i = start;
+    final boolean negative = i < end && bytes[i] == '-';
+    if (negative || (i < end && bytes[i] == '+')) {
+      i++;
+    }
+    if (i == end) {
+      throw invalidNumber(bytes, start, end);
+    }
+    long value = 0;
+    for (; i < end; i++) {
+      final byte b = bytes[i];
+      if (b < '0' || b > '9') {
+        throw invalidNumber(bytes, start, end);
+      }
+      value = value * 10 + (b - '0');
+      if (value > Integer.MAX_VALUE + 1L) {
+        throw invalidNumber(bytes, start, end);
+      }
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw invalidNumber(bytes, start, end);
+    }
+    return (int) value;
+  }
+
+  private static NumberFormatException invalidNumber(final byte[] bytes, final int start,
+      final int end) {
+    return new NumberFormatException("For input string: \"" + string(bytes, start, end) + "\"");
+  }
+
+  private static int digits(final byte[] bytes, final int start, final int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      final int digit = bytes[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static int month(final byte[] bytes, final int start) {
+    for (int m = 0; m < MONTHS.length; m++) {
+      final byte[] name = MONTHS[m];
+      if (bytes[start] == name[0] && bytes[start + 1] == name[1] && bytes[start + 2] == name[2]) {
+        return m + 1;
+      }
+    }
+    return -1;
+  }
+
+  private static int lengthOfMonth(final int year, final int month) {
+    return switch (month) {
+      case 2 -> isLeapYear(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  private static boolean isLeapYear(final int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  /**
+   * Same calculation as {@link LocalDate#toEpochDay()} for non-negative years.
+   */
+  private static long toEpochDay(final int year, final int month, final int day) {
+    long total = 365L * year;
+    total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367L * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  private static boolean isBlank(final byte[] bytes, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      if (!isWhitespace(bytes[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWhitespace(final byte b) {
+    return b == ' ' || b == '\t' || b == '\r';
+  }
+
+  /**
+   * @return number of lines between the offsets, counting a last line without a line break.
+   */
+  static long lineCount(final byte[] bytes, final int start, final int end) {
+    long count = end > start && bytes[end - 1] != '\n' ? 1 : 0;
+    for (int i = start; i < end; i++) {
+      if (bytes[i] == '\n') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static ByteBuffer grow(final ByteBuffer buffer) {
+    final ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+    buffer.flip();
+    grown.put(buffer);
+    return grown;
+  }
+
+  private static String string(final byte[] bytes, final int start, final int end) {
+    return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,214 @@
+package trade.report.io;
+
+import static trade.report.io.BinaryInstructionFormat.BYTE_ORDER;
+import static trade.report.io.BinaryInstructionFormat.RECORD_SIZE;
+import static trade.report.io.BinaryInstructionFormat.putRecord;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.StringDictionary;
+
+/**
+ * This class holds trade instructions outside the Java heap, in direct buffers laid out as the
+ * records of the binary instruction format. A book of any size adds only its entity and currency
+ * dictionaries to the heap, so garbage collection does not slow down as the book grows, and the
+ * reports are aggregated straight over the records as {@link BinaryInstructionReader} does over a
+ * mapped file.
+ *
+ * <p>A store is sized for a report run when it is allocated; its buffers are allocated as records
+ * are added, {@value #BUFFER_RECORDS} records at a time, and are freed as soon as the store
+ * is closed, rather than when the collector finds them unreachable. A store is not thread safe.
+ *
+ * <p>Direct buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum
+ * heap size. A JVM run with a small heap to keep the book off it needs the limit raised to at least
+ * the capacity of the store times {@value BinaryInstructionFormat#RECORD_SIZE} bytes, otherwise
+ * adding records fails with an {@link OutOfMemoryError} once the limit is reached.
+ */
+public final class OffHeapInstructionStore implements Closeable {
+
+  /**
+   * Number of records in each buffer, 3.5 MB, so the memory reserved grows with the records added
+   * rather than with the capacity of the store.
+   */
+  static final int BUFFER_RECORDS = 1 << 16;
+
+  private static final Method INVOKE_CLEANER;
+  private static final Object UNSAFE;
+
+  static {
+    Method invokeCleaner = null;
+    Object unsafe = null;
+    try {
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Without the cleaner the buffers are freed by the collector once the store is closed.
+    }
+    INVOKE_CLEANER = invokeCleaner;
+    UNSAFE = unsafe;
+  }
+
+  private final long capacity;
+  private ByteBuffer[] segments = new ByteBuffer[0];
+  private final StringDictionary entityNames = new StringDictionary();
+  private final StringDictionary currencies = new StringDictionary();
+  private long size;
+  private int minEpochDay = Integer.MAX_VALUE;
+  private int maxEpochDay = Integer.MIN_VALUE;
+  private boolean closed;
+
+  private OffHeapInstructionStore(final long capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * This method creates a store for at most the given number of instructions.
+   *
+   * @param capacity - largest number of instructions the store holds
+   * @return empty store.
+   */
+  public static OffHeapInstructionStore allocate(final long capacity) {
+    if (capacity < 0 || capacity > (long) Integer.MAX_VALUE * BUFFER_RECORDS) {
+      throw new IllegalArgumentException("Capacity " + capacity + " is out of range.");
+    }
+    return new OffHeapInstructionStore(capacity);
+  }
+
+  /**
+   * This method appends a trade instruction.
+   *
+   * @param tradeInstruction - trade instruction to be stored
+   */
+  public void add(final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    add(tradeInstruction.getInstructionType(), tradeInstruction.getEntityName(),
+        tradeInstruction.getCurrency(), tradeInstruction.getAgreedFx(),
+        tradeInstruction.getNumberOfUnits(), tradeInstruction.getPricePerUnit(),
+        Math.toIntExact(Objects.requireNonNull(tradeInstruction.getInstructionDate(),
+            "Instruction date should be provided.").toEpochDay()),
+        Math.toIntExact(tradeInstruction.getInstructedSettlementDate().toEpochDay()),
+        Math.toIntExact(tradeInstruction.getActualSettlementDate().toEpochDay()));
+  }
+
+  /**
+   * This method appends a parsed instruction record, so a file can be parsed straight into the
+   * store without creating trade instructions.
+   *
+   * @param record - record to be stored
+   */
+  public void add(final InstructionRecord record) {
+    Objects.requireNonNull(record, "Instruction record should not be null.");
+    add(record.getInstructionType(), record.getEntityName(), record.getCurrency(),
+        record.getAgreedFx(), record.getNumberOfUnits(), record.getPricePerUnit(),
+        record.getInstructionEpochDay(), record.getInstructedSettlementEpochDay(),
+        record.getActualSettlementEpochDay());
+  }
+
+  private void add(final InstructionType instructionType, final String entityName,
+      final String currency, final double agreedFx, final int numberOfUnits,
+      final double pricePerUnit, final int instructionEpochDay,
+      final int instructedSettlementEpochDay, final int actualSettlementEpochDay) {
+    if (closed) {
+      throw new IllegalStateException("Store is closed.");
+    }
+    if (size == capacity) {
+      throw new IllegalStateException("Store is full with " + capacity + " instructions.");
+    }
+    final int segment = (int) (size / BUFFER_RECORDS);
+    if (segment == segments.length) {
+      final long segmentCount = (capacity + BUFFER_RECORDS - 1) / BUFFER_RECORDS;
+      segments = Arrays.copyOf(segments, (int) Math.min(2L * segment + 1, segmentCount));
+    }
+    if (segments[segment] == null) {
+      final long records = Math.min(BUFFER_RECORDS, capacity - (long) segment * BUFFER_RECORDS);
+      segments[segment] = ByteBuffer.allocateDirect((int) records * RECORD_SIZE)
+          .order(BYTE_ORDER);
+    }
+    putRecord(segments[segment], (int) (size % BUFFER_RECORDS) * RECORD_SIZE, instructionType,
+        entityNames.encode(entityName), currencies.encode(currency), agreedFx, numberOfUnits,
+        pricePerUnit, instructionEpochDay, instructedSettlementEpochDay,
+        actualSettlementEpochDay);
+    minEpochDay = Math.min(minEpochDay, actualSettlementEpochDay);
+    maxEpochDay = Math.max(maxEpochDay, actualSettlementEpochDay);
+    size++;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public long capacity() {
+    return capacity;
+  }
+
+  public StringDictionary getEntityNames() {
+    return entityNames;
+  }
+
+  public StringDictionary getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * This method aggregates every stored instruction into a settlement report, ranking every
+   * entity.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport aggregate() {
+    return aggregate(Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method aggregates every stored instruction into a settlement report in a single pass over
+   * the records, with the same results as {@link BinaryInstructionReader#aggregate(int)}.
+   *
+   * @param rankingLimit - largest number of entities ranked for each instruction type
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport aggregate(final int rankingLimit) {
+    if (closed) {
+      throw new IllegalStateException("Store is closed.");
+    }
+    final ByteBuffer[] filled = new ByteBuffer[(int) ((size + BUFFER_RECORDS - 1)
+        / BUFFER_RECORDS)];
+    for (int i = 0; i < filled.length; i++) {
+      final long records = Math.min(BUFFER_RECORDS, size - (long) i * BUFFER_RECORDS);
+      filled[i] = segments[i].duplicate().limit((int) records * RECORD_SIZE).slice()
+          .order(BYTE_ORDER);
+    }
+    return new BinaryInstructionReader(filled, size, size == 0 ? 0 : minEpochDay,
+        size == 0 ? 0 : maxEpochDay, entityNames, currencies).aggregate(rankingLimit);
+  }
+
+  /**
+   * This method frees the buffers of the store. The store cannot be used afterwards.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (int i = 0; i < segments.length; i++) {
+      if (segments[i] != null && INVOKE_CLEANER != null) {
+        try {
+          INVOKE_CLEANER.invoke(UNSAFE, segments[i]);
+        } catch (ReflectiveOperationException e) {
+          // Left to the collector.
+        }
+      }
+      segments[i] = null;
+    }
+  }
+}
@@ -0,0 +1,367 @@
+package trade.report.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.model.SettlementReport;
+import trade.report.output.ReportRenderer;
+import trade.report.output.ReportWriter;
+
+/**
+ * This class generates a report from an instruction file with overlapping stages. A reader thread
+ * splits the file into batches of lines, a configurable number of enrichment threads parse the
+ * batches and settle each record on the calendar, and an aggregator thread adds the enriched
+ * batches to the report in file order. Stages are joined by bounded queues and the number of
+ * batches in flight is capped, so a slow stage holds back the stages before it instead of letting
+ * memory grow. Rendering needs the complete report and runs once aggregation has finished.
+ *
+ * <p>Batches are aggregated in file order, so the report is the same as the one produced by
+ * {@link TradeInstructionReader#aggregate(Path, SettlementCalendar)}.
+ */
+public final class PipelinedReportRunner {
+
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+  public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+  private static final int READ_BUFFER_SIZE = 1 << 20;
+  private static final LineBatch END_OF_LINES = new LineBatch(-1, 0, new byte[0]);
+  private static final EnrichedBatch END_OF_WORKER = new EnrichedBatch(-1, 0);
+  private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+  private final SettlementCalendar settlementCalendar;
+  private final int batchSize;
+  private final int enrichmentThreads;
+  private final int queueCapacity;
+
+  /**
+   * Creates a runner settling on weekends only, with the default batch size and queue capacity
+   * and one enrichment thread per spare core.
+   */
+  public PipelinedReportRunner() {
+    this(WeekendSettlementCalendar.INSTANCE, DEFAULT_BATCH_SIZE,
+        Math.max(1, Runtime.getRuntime().availableProcessors() - 2), DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * @param settlementCalendar calendar deciding the actual settlement dates
+   * @param batchSize          number of lines handed from one stage to the next at a time
+   * @param enrichmentThreads  number of threads parsing and settling batches
+   * @param queueCapacity      number of batches each queue between stages can hold
+   */
+  public PipelinedReportRunner(final SettlementCalendar settlementCalendar, final int batchSize,
+      final int enrichmentThreads, final int queueCapacity) {
+    Objects.requireNonNull(settlementCalendar, "Settlement calendar should be provided.");
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size should be positive.");
+    }
+    if (enrichmentThreads < 1) {
+      throw new IllegalArgumentException("Number of enrichment threads should be positive.");
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity should be positive.");
+    }
+    this.settlementCalendar = settlementCalendar;
+    this.batchSize = batchSize;
+    this.enrichmentThreads = enrichmentThreads;
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * This method generates the report of an instruction file and renders it.
+   *
+   * @param path     - path of the instruction file
+   * @param renderer - renderer writing the report
+   * @param writer   - writer the report is rendered to
+   * @throws IOException if the file cannot be read or the report cannot be written
+   */
+  public void run(final Path path, final ReportRenderer renderer, final ReportWriter writer)
+      throws IOException {
+    Objects.requireNonNull(renderer, "Renderer should be provided.");
+    Objects.requireNonNull(writer, "Writer should be provided.");
+    final SettlementReport report = aggregate(path);
+    try (Span span = PipelineMetrics.span(PipelineStage.OUTPUT)) {
+      span.items(report.getRowCount());
+      renderer.render(report, writer);
+    }
+  }
+
+  /**
+   * This method reads, enriches and aggregates an instruction file in overlapping stages.
+   *
+   * @param path - path of the instruction file
+   * @return settlement report for both instruction types.
+   * @throws IOException if the file cannot be read
+   */
+  public SettlementReport aggregate(final Path path) throws IOException {
+    return accumulate(path).toReport();
+  }
+
+  /**
+   * This method reads, enriches and aggregates an instruction file in overlapping stages into a
+   * new report aggregator, which can be saved as the partial result of the file.
+   *
+   * @param path - path of the instruction file
+   * @return aggregator holding the totals of the file.
+   * @throws IOException if the file cannot be read
+   */
+  public ReportAggregator accumulate(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    final BlockingQueue<LineBatch> lines = new ArrayBlockingQueue<>(queueCapacity);
+    final BlockingQueue<EnrichedBatch> enriched = new ArrayBlockingQueue<>(queueCapacity);
+    final Semaphore inFlight = new Semaphore(2 * queueCapacity + enrichmentThreads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final String poolName = "report-pipeline-" + POOL_NUMBER.incrementAndGet() + "-";
+    final AtomicInteger threadNumber = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(enrichmentThreads + 2,
+        runnable -> {
+          final Thread thread = new Thread(runnable, poolName + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+
+    try {
+      executor.submit(stage(executor, failure, () -> {
+        read(path, lines, inFlight);
+        return null;
+      }));
+      for (int i = 0; i < enrichmentThreads; i++) {
+        executor.submit(stage(executor, failure, () -> {
+          enrich(lines, enriched);
+          return null;
+        }));
+      }
+      final Future<ReportAggregator> aggregation = executor.submit(stage(executor, failure,
+          () -> aggregate(enriched, inFlight)));
+      return aggregation.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Report pipeline was interrupted.");
+    } catch (ExecutionException e) {
+      throw propagate(failure.get() != null ? failure.get() : e.getCause());
+    } catch (RejectedExecutionException e) {
+      // A stage that failed early shut the pool down before the later stages were submitted.
+      throw propagate(failure.get() != null ? failure.get() : e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * This method rethrows the failure of a stage, returning it when it is an I/O failure so that
+   * the caller can throw it.
+   */
+  private static IOException propagate(final Throwable cause) {
+    if (cause instanceof IOException) {
+      return (IOException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw new IllegalStateException("Report pipeline failed.", cause);
+  }
+
+  /**
+   * This method wraps a stage so that its failure is recorded and stops every other stage.
+   */
+  private static <T> Callable<T> stage(final ExecutorService executor,
+      final AtomicReference<Throwable> failure, final Callable<T> task) {
+    return () -> {
+      try {
+        return task.call();
+      } catch (Throwable e) {
+        if (failure.compareAndSet(null, e)) {
+          executor.shutdownNow();
+        }
+        throw e;
+      }
+    };
+  }
+
+  private void read(final Path path, final BlockingQueue<LineBatch> lines,
+      final Semaphore inFlight) throws IOException, InterruptedException {
+    long sequence = 0;
+    long lineNumber = 1;
+    ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      boolean endOfInput = false;
+      while (!endOfInput) {
+        if (!buffer.hasRemaining()) {
+          buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+        }
+        endOfInput = channel.read(buffer) < 0;
+        final byte[] bytes = buffer.array();
+        final int limit = buffer.position();
+        int batchStart = 0;
+        int lineCount = 0;
+        for (int i = 0; i < limit; i++) {
+          if (bytes[i] == '\n' && ++lineCount == batchSize) {
+            inFlight.acquire();
+            lines.put(new LineBatch(sequence++, lineNumber,
+                Arrays.copyOfRange(bytes, batchStart, i + 1)));
+            lineNumber += lineCount;
+            batchStart = i + 1;
+            lineCount = 0;
+          }
+        }
+        int batchEnd = batchStart;
+        for (int i = limit - 1; i >= batchStart; i--) {
+          if (bytes[i] == '\n') {
+            batchEnd = i + 1;
+            break;
+          }
+        }
+        if (endOfInput) {
+          batchEnd = limit;
+        }
+        if (batchEnd > batchStart) {
+          inFlight.acquire();
+          final LineBatch batch = new LineBatch(sequence++, lineNumber,
+              Arrays.copyOfRange(bytes, batchStart, batchEnd));
+          lines.put(batch);
+          lineNumber += batch.lineCount();
+        }
+        buffer.position(batchEnd).limit(limit);
+        buffer.compact();
+      }
+    }
+    lines.put(END_OF_LINES);
+  }
+
+  private void enrich(final BlockingQueue<LineBatch> lines,
+      final BlockingQueue<EnrichedBatch> enriched) throws InterruptedException {
+    final InstructionRecordParser parser = new InstructionRecordParser(
+        TradeInstructionReader.DEFAULT_DELIMITER, settlementCalendar);
+    while (true) {
+      final LineBatch batch = lines.take();
+      if (batch == END_OF_LINES) {
+        // Put the marker back so every other enrichment thread sees it too.
+        lines.put(END_OF_LINES);
+        enriched.put(END_OF_WORKER);
+        return;
+      }
+      final EnrichedBatch result = new EnrichedBatch(batch.sequence, batch.lineCount());
+      parser.parseLines(batch.bytes, 0, batch.bytes.length, batch.firstLineNumber, result::add,
+          false);
+      enriched.put(result);
+    }
+  }
+
+  private ReportAggregator aggregate(final BlockingQueue<EnrichedBatch> enriched,
+      final Semaphore inFlight) throws InterruptedException {
+    final ReportAggregator aggregator = new ReportAggregator();
+    final Map<Long, EnrichedBatch> pending = new HashMap<>();
+    long nextSequence = 0;
+    int finishedWorkers = 0;
+    while (finishedWorkers < enrichmentThreads) {
+      final EnrichedBatch batch = enriched.take();
+      if (batch == END_OF_WORKER) {
+        finishedWorkers++;
+        continue;
+      }
+      pending.put(batch.sequence, batch);
+      for (EnrichedBatch next = pending.remove(nextSequence); next != null;
+          next = pending.remove(nextSequence)) {
+        try (Span span = PipelineMetrics.span(PipelineStage.AGGREGATION)) {
+          span.items(next.size);
+          next.addTo(aggregator);
+        }
+        nextSequence++;
+        inFlight.release();
+      }
+    }
+    return aggregator;
+  }
+
+  /**
+   * Complete lines of the file, copied out of the read buffer.
+   */
+  private static final class LineBatch {
+
+    private final long sequence;
+    private final long firstLineNumber;
+    private final byte[] bytes;
+
+    private LineBatch(final long sequence, final long firstLineNumber, final byte[] bytes) {
+      this.sequence = sequence;
+      this.firstLineNumber = firstLineNumber;
+      this.bytes = bytes;
+    }
+
+    private int lineCount() {
+      int count = 0;
+      for (final byte b : bytes) {
+        if (b == '\n') {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Parsed and settled records of a line batch, in primitive form.
+   */
+  private static final class EnrichedBatch {
+
+    private static final InstructionType[] INSTRUCTION_TYPES = InstructionType.values();
+
+    private final long sequence;
+    private final byte[] instructionTypes;
+    private final String[] entityNames;
+    private final int[] epochDays;
+    private final long[] usdAmounts;
+    private int size;
+
+    private EnrichedBatch(final long sequence, final int capacity) {
+      this.sequence = sequence;
+      this.instructionTypes = new byte[capacity + 1];
+      this.entityNames = new String[capacity + 1];
+      this.epochDays = new int[capacity + 1];
+      this.usdAmounts = new long[capacity + 1];
+    }
+
+    private void add(final InstructionRecord record) {
+      instructionTypes[size] = (byte) record.getInstructionType().ordinal();
+      entityNames[size] = record.getEntityName();
+      epochDays[size] = record.getActualSettlementEpochDay();
+      usdAmounts[size] = record.calculateScaledUSDAmount();
+      size++;
+    }
+
+    private void addTo(final ReportAggregator aggregator) {
+      for (int i = 0; i < size; i++) {
+        aggregator.add(INSTRUCTION_TYPES[instructionTypes[i]], LocalDate.ofEpochDay(epochDays[i]),
+            entityNames[i], usdAmounts[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package trade.report.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Objects;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.engine.ReportAggregator;
+import trade.report.model.SettlementReport;
+
+/**
+ * This class holds the aggregation state of an instruction file that is still being appended to,
+ * together with the position up to which the file has been ingested. The state can be saved to a
+ * compact local file; a restarted process restores it and only reads the lines added since, instead
+ * of parsing the whole file again.
+ *
+ * <p>A checkpoint file holds a small header with the ingest position, followed by the totals in the
+ * partial report format of {@link ReportAggregator#writeTo(OutputStream)}. It is replaced
+ * atomically, so a crash while saving leaves the previous checkpoint intact.
+ */
+public final class ReportCheckpoint {
+
+  private static final int MAGIC = 0x5452434B;
+  private static final int VERSION = 1;
+
+  private final ReportAggregator aggregator;
+  private IngestPosition position;
+
+  private ReportCheckpoint(final ReportAggregator aggregator, final IngestPosition position) {
+    this.aggregator = aggregator;
+    this.position = position;
+  }
+
+  /**
+   * This method creates a checkpoint at the start of an instruction file.
+   *
+   * @return checkpoint without any instruction ingested.
+   */
+  public static ReportCheckpoint empty() {
+    return new ReportCheckpoint(new ReportAggregator(), IngestPosition.START);
+  }
+
+  /**
+   * This method restores the checkpoint saved in the given file, or creates an empty one when no
+   * checkpoint has been saved yet.
+   *
+   * @param path - path of the checkpoint file
+   * @return restored checkpoint.
+   * @throws IOException if the file exists but cannot be read
+   */
+  public static ReportCheckpoint restore(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    if (!Files.exists(path)) {
+      return empty();
+    }
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IllegalArgumentException("File is not a report checkpoint.");
+      }
+      final int version = in.readInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported checkpoint version " + version + ".");
+      }
+      final IngestPosition position = new IngestPosition(in.readLong(), in.readLong());
+      return new ReportCheckpoint(ReportAggregator.readFrom(in), position);
+    }
+  }
+
+  /**
+   * This method ingests the lines appended to the instruction file since the checkpoint position,
+   * settling each record on the given calendar, and moves the position past them. If a line cannot
+   * be parsed the totals may hold part of the lines read, and the checkpoint should be restored
+   * again from the last saved file.
+   *
+   * @param path               - path of the instruction file
+   * @param settlementCalendar - calendar deciding the actual settlement dates
+   * @return number of instructions ingested.
+   * @throws IOException if the file cannot be read
+   */
+  public long ingest(final Path path, final SettlementCalendar settlementCalendar)
+      throws IOException {
+    final long[] count = new long[1];
+    position = new InstructionRecordParser(TradeInstructionReader.DEFAULT_DELIMITER,
+        settlementCalendar).parseFrom(path, position, record -> {
+          aggregator.add(record.getInstructionType(),
+              LocalDate.ofEpochDay(record.getActualSettlementEpochDay()), record.getEntityName(),
+              record.calculateScaledUSDAmount());
+          count[0]++;
+        });
+    return count[0];
+  }
+
+  /**
+   * This method saves the checkpoint to the given file, replacing any previous checkpoint only once
+   * the new one has been written completely and forced to the storage device.
+   *
+   * @param path - path of the checkpoint file
+   * @throws IOException if the file cannot be written
+   */
+  public void save(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      final DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(position.getByteOffset());
+      out.writeLong(position.getLineCount());
+      aggregator.writeTo(out);
+      out.flush();
+      // Without this the rename may reach the disk before the data it points to.
+      channel.force(true);
+    }
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  public IngestPosition getPosition() {
+    return position;
+  }
+
+  /**
+   * @return totals of every instruction ingested so far, updated by later calls to
+   * {@link #ingest(Path, SettlementCalendar)}.
+   */
+  public ReportAggregator getAggregator() {
+    return aggregator;
+  }
+
+  /**
+   * This method builds the settlement report of every instruction ingested so far.
+   *
+   * @return settlement report for both instruction types.
+   */
+  public SettlementReport toReport() {
+    return aggregator.toReport();
+  }
+}
@@ -0,0 +1,174 @@
+package trade.report.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Consumer;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.engine.ReportAggregator;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+/**
+ * This class streams trade instructions from a delimited text file. Each record is parsed and
+ * handed to a consumer as soon as it is read, so a file of any size can be aggregated without
+ * holding all of its instructions in memory.
+ *
+ * <p>Records have the fields entity, instruction type, agreed fx, currency, instruction date,
+ * settlement date, units and price per unit, in that order. Blank lines and lines starting with
+ * {@code #} are skipped.
+ */
+public final class TradeInstructionReader implements Closeable {
+
+  public static final char DEFAULT_DELIMITER = ',';
+
+  private static final int FIELD_COUNT = 8;
+
+  private final BufferedReader reader;
+  private final char delimiter;
+  private long lineNumber;
+
+  /**
+   * @param reader    source of the instruction records
+   * @param delimiter character separating the fields of a record
+   */
+  public TradeInstructionReader(final BufferedReader reader, final char delimiter) {
+    Objects.requireNonNull(reader, "Reader should be provided.");
+    this.reader = reader;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * This method opens a buffered reader over the given comma separated instruction file.
+   *
+   * @param path - path of the instruction file
+   * @return reader over the file.
+   * @throws IOException if the file cannot be opened
+   */
+  public static TradeInstructionReader open(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    return new TradeInstructionReader(Files.newBufferedReader(path, StandardCharsets.UTF_8),
+        DEFAULT_DELIMITER);
+  }
+
+  /**
+   * This method streams the given instruction file straight into a report aggregator and returns
+   * the resulting report. Records are parsed from bytes by {@link InstructionRecordParser} without
+   * creating a trade instruction for each of them.
+   *
+   * @param path - path of the instruction file
+   * @return settlement report for both instruction types.
+   * @throws IOException if the file cannot be read
+   */
+  public static SettlementReport aggregate(final Path path) throws IOException {
+    return aggregate(path, WeekendSettlementCalendar.INSTANCE);
+  }
+
+  /**
+   * This method streams the given instruction file straight into a report aggregator, settling
+   * each record on the given calendar, and returns the resulting report.
+   *
+   * @param path               - path of the instruction file
+   * @param settlementCalendar - calendar deciding the actual settlement dates
+   * @return settlement report for both instruction types.
+   * @throws IOException if the file cannot be read
+   */
+  public static SettlementReport aggregate(final Path path,
+      final SettlementCalendar settlementCalendar) throws IOException {
+    return accumulate(path, settlementCalendar).toReport();
+  }
+
+  /**
+   * This method streams the given instruction file into a new report aggregator, settling each
+   * record on the given calendar. The aggregator can be saved as the partial result of the file
+   * and merged with those of other files.
+   *
+   * @param path               - path of the instruction file
+   * @param settlementCalendar - calendar deciding the actual settlement dates
+   * @return aggregator holding the totals of the file.
+   * @throws IOException if the file cannot be read
+   */
+  public static ReportAggregator accumulate(final Path path,
+      final SettlementCalendar settlementCalendar) throws IOException {
+    final ReportAggregator aggregator = new ReportAggregator();
+    new InstructionRecordParser(DEFAULT_DELIMITER, settlementCalendar).parseFile(path,
+        record -> aggregator.add(record.getInstructionType(),
+            LocalDate.ofEpochDay(record.getActualSettlementEpochDay()), record.getEntityName(),
+            record.calculateScaledUSDAmount()));
+    return aggregator;
+  }
+
+  /**
+   * This method reads the remaining records and passes each parsed trade instruction to the given
+   * consumer.
+   *
+   * @param consumer - receiver of the parsed trade instructions
+   * @return number of instructions read.
+   * @throws IOException if the source cannot be read
+   */
+  public long forEach(final Consumer<? super TradeInstruction> consumer) throws IOException {
+    Objects.requireNonNull(consumer, "Consumer should be provided.");
+    long count = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || line.charAt(0) == '#') {
+        continue;
+      }
+      consumer.accept(parse(line));
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * This method parses a single record into a trade instruction.
+   *
+   * @param line - delimited record
+   * @return parsed trade instruction.
+   */
+  private TradeInstruction parse(final String line) {
+    final String[] fields = new String[FIELD_COUNT];
+    int start = 0;
+    int field = 0;
+    for (int i = 0; i <= line.length(); i++) {
+      if (i == line.length() || line.charAt(i) == delimiter) {
+        if (field == FIELD_COUNT) {
+          throw invalidRecord("too many fields");
+        }
+        fields[field++] = line.substring(start, i).trim();
+        start = i + 1;
+      }
+    }
+    if (field != FIELD_COUNT) {
+      throw invalidRecord("expected " + FIELD_COUNT + " fields but found " + field);
+    }
+
+    try {
+      return new TradeInstruction(fields[0], fields[1], Double.parseDouble(fields[2]), fields[3],
+          fields[4], fields[5], Integer.parseInt(fields[6]), Double.parseDouble(fields[7]));
+    } catch (RuntimeException e) {
+      throw invalidRecord(e.getMessage(), e);
+    }
+  }
+
+  private IllegalArgumentException invalidRecord(final String reason) {
+    return invalidRecord(reason, null);
+  }
+
+  private IllegalArgumentException invalidRecord(final String reason, final Throwable cause) {
+    return new IllegalArgumentException(
+        "Invalid trade instruction at line " + lineNumber + ": " + reason, cause);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,106 @@
+package trade.report.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class records latencies in log-linear buckets in the manner of HdrHistogram: values below
+ * 64 get a bucket each and every power of two above is split into 32 linear sub-buckets, so any
+ * recorded value is reported within about 3% using a fixed 15 KB of counters. Recording is a
+ * single atomic increment and is safe from any number of threads.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+  private static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  /**
+   * This method records a value.
+   *
+   * @param value - non-negative value, such as a latency in nanoseconds
+   */
+  public void record(final long value) {
+    counts.incrementAndGet(indexOf(Math.max(0, value)));
+  }
+
+  /**
+   * @return number of values recorded.
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * This method returns the value below which the given percentage of the recorded values fall,
+   * as the highest value of the bucket reaching that percentage.
+   *
+   * @param percentile - percentage between 0 and 100
+   * @return value at the percentile, or zero when nothing has been recorded.
+   */
+  public long getValueAtPercentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile should be between 0 and 100.");
+    }
+    final long[] snapshot = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= target) {
+        return highestValueOf(i);
+      }
+    }
+    return highestValueOf(BUCKET_COUNT - 1);
+  }
+
+  /**
+   * @return highest value recorded, within the precision of its bucket.
+   */
+  public long getMax() {
+    for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+      if (counts.get(i) > 0) {
+        return highestValueOf(i);
+      }
+    }
+    return 0;
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0);
+    }
+  }
+
+  static int indexOf(final long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) value;
+    }
+    final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  static long highestValueOf(final int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+    final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+    final long highest = ((subBucket + 1) << shift) - 1;
+    return highest < 0 ? Long.MAX_VALUE : highest;
+  }
+}
@@ -0,0 +1,193 @@
+package trade.report.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import trade.report.enums.PipelineStage;
+
+/**
+ * This class collects per-stage metrics of the report pipeline: invocations, items processed,
+ * time spent, a latency histogram and the bytes allocated while the stage ran.
+ *
+ * <p>Instrumented code calls {@link #span(PipelineStage)}. Metrics are only collected when the
+ * {@code report.metrics} system property is {@code true}; otherwise the call returns a shared
+ * no-op span and, as {@link #ENABLED} is a constant, the JIT removes the instrumentation.
+ */
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+
+  public static final boolean ENABLED = Boolean.getBoolean("report.metrics");
+  public static final String OBJECT_NAME = "trade.report:type=PipelineMetrics";
+
+  private static final PipelineMetrics GLOBAL = new PipelineMetrics();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final boolean ALLOCATION_SUPPORTED = allocationSupported();
+
+  private final Stage[] stages = new Stage[PipelineStage.values().length];
+
+  public PipelineMetrics() {
+    for (int i = 0; i < stages.length; i++) {
+      stages[i] = new Stage();
+    }
+  }
+
+  /**
+   * This method starts measuring a stage on the global metrics when metrics are enabled.
+   *
+   * @param stage - stage being run
+   * @return span to close when the stage ends.
+   */
+  public static Span span(final PipelineStage stage) {
+    return ENABLED ? GLOBAL.start(stage) : Span.DISABLED;
+  }
+
+  /**
+   * @return metrics the {@link #span(PipelineStage)} calls are recorded in.
+   */
+  public static PipelineMetrics global() {
+    return GLOBAL;
+  }
+
+  /**
+   * This method registers the global metrics with the platform MBean server, once.
+   */
+  public static synchronized void registerMBean() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(GLOBAL, name);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("Pipeline metrics could not be registered.", e);
+    }
+  }
+
+  /**
+   * This method starts measuring a stage on these metrics, whether or not metrics are enabled.
+   *
+   * @param stage - stage being run
+   * @return span to close when the stage ends.
+   */
+  public Span start(final PipelineStage stage) {
+    Objects.requireNonNull(stage, "Stage should be provided.");
+    return new Span(stages[stage.ordinal()], System.nanoTime(), allocatedBytes());
+  }
+
+  @Override
+  public List<StageSnapshot> getStages() {
+    final List<StageSnapshot> snapshots = new ArrayList<>(stages.length);
+    for (final PipelineStage stage : PipelineStage.values()) {
+      final Stage metrics = stages[stage.ordinal()];
+      snapshots.add(new StageSnapshot(stage.name(), metrics.invocations.sum(),
+          metrics.items.sum(), metrics.nanos.sum(), metrics.latencies.getValueAtPercentile(50),
+          metrics.latencies.getValueAtPercentile(99), metrics.latencies.getMax(),
+          ALLOCATION_SUPPORTED ? metrics.allocatedBytes.sum() : -1));
+    }
+    return Collections.unmodifiableList(snapshots);
+  }
+
+  @Override
+  public String dump() {
+    final StringBuilder builder = new StringBuilder("### Pipeline metrics ###")
+        .append(System.lineSeparator())
+        .append(String.format("%-12s %12s %14s %14s %12s %12s %12s %12s %14s%n", "stage",
+            "invocations", "items", "items/s", "total ms", "p50 us", "p99 us", "max us",
+            "allocated KB"));
+    for (final StageSnapshot stage : getStages()) {
+      builder.append(String.format("%-12s %12d %14d %14.0f %12.3f %12.3f %12.3f %12.3f %14d%n",
+          stage.getStage(), stage.getInvocations(), stage.getItems(), stage.getItemsPerSecond(),
+          stage.getTotalNanos() / 1e6, stage.getMedianNanos() / 1e3, stage.getP99Nanos() / 1e3,
+          stage.getMaxNanos() / 1e3,
+          stage.getAllocatedBytes() < 0 ? -1 : stage.getAllocatedBytes() / 1024));
+    }
+    return builder.append("### End of Pipeline metrics ###").toString();
+  }
+
+  @Override
+  public void reset() {
+    for (final Stage stage : stages) {
+      stage.invocations.reset();
+      stage.items.reset();
+      stage.nanos.reset();
+      stage.allocatedBytes.reset();
+      stage.latencies.reset();
+    }
+  }
+
+  private static boolean allocationSupported() {
+    return THREADS instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+        && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+  }
+
+  private static long allocatedBytes() {
+    return ALLOCATION_SUPPORTED
+        ? ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes() : 0;
+  }
+
+  /**
+   * Accumulators of a single stage.
+   */
+  private static final class Stage {
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+  }
+
+  /**
+   * Measurement of one run of a stage, recorded when closed. A span must be closed on the thread
+   * that started it for the allocated bytes to be meaningful.
+   */
+  public static final class Span implements AutoCloseable {
+
+    static final Span DISABLED = new Span(null, 0, 0);
+
+    private final Stage stage;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private long items = 1;
+
+    private Span(final Stage stage, final long startNanos, final long startAllocatedBytes) {
+      this.stage = stage;
+      this.startNanos = startNanos;
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    /**
+     * This method sets the number of items, such as instructions, the stage processed. A span
+     * counts one item by default.
+     *
+     * @param items - number of items processed
+     * @return this span.
+     */
+    public Span items(final long items) {
+      if (stage != null) {
+        this.items = items;
+      }
+      return this;
+    }
+
+    @Override
+    public void close() {
+      if (stage == null) {
+        return;
+      }
+      final long nanos = System.nanoTime() - startNanos;
+      stage.invocations.increment();
+      stage.items.add(items);
+      stage.nanos.add(nanos);
+      stage.allocatedBytes.add(allocatedBytes() - startAllocatedBytes);
+      stage.latencies.record(nanos);
+    }
+  }
+}
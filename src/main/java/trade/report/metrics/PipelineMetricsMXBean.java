@@ -0,0 +1,25 @@
+package trade.report.metrics;
+
+import java.util.List;
+
+/**
+ * Management interface of the pipeline metrics, registered as
+ * {@value PipelineMetrics#OBJECT_NAME}.
+ */
+public interface PipelineMetricsMXBean {
+
+  /**
+   * @return metrics of every pipeline stage.
+   */
+  List<StageSnapshot> getStages();
+
+  /**
+   * @return metrics of every pipeline stage as a printable table.
+   */
+  String dump();
+
+  /**
+   * This method clears the metrics of every stage.
+   */
+  void reset();
+}
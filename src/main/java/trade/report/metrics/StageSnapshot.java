@@ -0,0 +1,77 @@
+package trade.report.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Class that holds the metrics of one pipeline stage at a point in time. Latencies are in
+ * nanoseconds per invocation of the stage.
+ */
+public final class StageSnapshot {
+
+  private final String stage;
+  private final long invocations;
+  private final long items;
+  private final long totalNanos;
+  private final long medianNanos;
+  private final long p99Nanos;
+  private final long maxNanos;
+  private final long allocatedBytes;
+
+  @ConstructorProperties({"stage", "invocations", "items", "totalNanos", "medianNanos",
+      "p99Nanos", "maxNanos", "allocatedBytes"})
+  public StageSnapshot(final String stage, final long invocations, final long items,
+      final long totalNanos, final long medianNanos, final long p99Nanos, final long maxNanos,
+      final long allocatedBytes) {
+    this.stage = stage;
+    this.invocations = invocations;
+    this.items = items;
+    this.totalNanos = totalNanos;
+    this.medianNanos = medianNanos;
+    this.p99Nanos = p99Nanos;
+    this.maxNanos = maxNanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public String getStage() {
+    return stage;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public long getItems() {
+    return items;
+  }
+
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  public long getMedianNanos() {
+    return medianNanos;
+  }
+
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * @return bytes allocated by the threads running the stage, or -1 when the JVM cannot measure
+   *     them.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * @return items processed per second of time spent in the stage.
+   */
+  public double getItemsPerSecond() {
+    return totalNanos == 0 ? 0 : items * 1e9 / totalNanos;
+  }
+}
@@ -0,0 +1,66 @@
+package trade.report.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import trade.report.util.FixedPoint;
+import trade.report.util.StringDictionary;
+
+/**
+ * Class that holds USD totals per entity in primitive arrays, ordered by descending amount.
+ */
+public final class EntityTotals {
+
+  private final StringDictionary entityNames;
+  private final int[] entityIds;
+  private final long[] amounts;
+
+  /**
+   * @param entityNames dictionary the entity ids belong to
+   * @param entityIds   entity ids in ranking order
+   * @param amounts     USD amount in fixed point of the entity at the same index
+   */
+  public EntityTotals(final StringDictionary entityNames, final int[] entityIds,
+      final long[] amounts) {
+    if (entityIds.length != amounts.length) {
+      throw new IllegalArgumentException("Entity ids and amounts should have the same size.");
+    }
+    this.entityNames = entityNames;
+    this.entityIds = entityIds;
+    this.amounts = amounts;
+  }
+
+  public int size() {
+    return entityIds.length;
+  }
+
+  public int getEntityId(final int index) {
+    return entityIds[index];
+  }
+
+  public String getEntityName(final int index) {
+    return entityNames.decode(entityIds[index]);
+  }
+
+  public double getAmount(final int index) {
+    return FixedPoint.toDouble(amounts[index]);
+  }
+
+  public long getScaledAmount(final int index) {
+    return amounts[index];
+  }
+
+  /**
+   * This method converts the totals into ranked entries of entity name and USD amount.
+   *
+   * @return entity rankings in descending order of USD amount.
+   */
+  public List<Map.Entry<String, Double>> toEntries() {
+    final List<Map.Entry<String, Double>> entries = new ArrayList<>(entityIds.length);
+    for (int i = 0; i < entityIds.length; i++) {
+      entries.add(Map.entry(getEntityName(i), getAmount(i)));
+    }
+    return Collections.unmodifiableList(entries);
+  }
+}
@@ -0,0 +1,266 @@
+package trade.report.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import trade.report.enums.InstructionType;
+import trade.report.util.FixedPoint;
+import trade.report.util.StringDictionary;
+import trade.report.util.SymbolTable;
+
+/**
+ * Class that holds trade instructions in columnar form. Each field is stored in its own primitive
+ * array, dates as epoch days and entity names and currencies as dictionary ids, so a batch uses a
+ * few dozen bytes per instruction and can be aggregated with tight loops over the arrays. Prices,
+ * exchange rates and USD amounts are held in fixed point, see {@link FixedPoint}, and the USD amount
+ * of each instruction is calculated once when it is added.
+ */
+public final class InstructionBatch {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final StringDictionary entityNames;
+  private final StringDictionary currencies;
+  private byte[] instructionTypes;
+  private int[] entityIds;
+  private int[] currencyIds;
+  private long[] scaledAgreedFxs;
+  private int[] numberOfUnits;
+  private long[] scaledPricesPerUnit;
+  private long[] scaledUSDAmounts;
+  private int[] actualSettlementEpochDays;
+  private int size;
+  private long version;
+
+  public InstructionBatch() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity number of instructions the batch can hold before growing
+   */
+  public InstructionBatch(final int capacity) {
+    this(capacity, new StringDictionary(), new StringDictionary());
+  }
+
+  /**
+   * @param capacity    number of instructions the batch can hold before growing
+   * @param symbolTable table whose entity and currency ids the batch uses
+   */
+  public InstructionBatch(final int capacity, final SymbolTable symbolTable) {
+    this(capacity, symbolTable.getEntityNames(), symbolTable.getCurrencies());
+  }
+
+  /**
+   * @param capacity    number of instructions the batch can hold before growing
+   * @param entityNames dictionary used to encode entity names
+   * @param currencies  dictionary used to encode currencies
+   */
+  public InstructionBatch(final int capacity, final StringDictionary entityNames,
+      final StringDictionary currencies) {
+    Objects.requireNonNull(entityNames, "Entity dictionary should be provided.");
+    Objects.requireNonNull(currencies, "Currency dictionary should be provided.");
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity should not be negative.");
+    }
+    this.entityNames = entityNames;
+    this.currencies = currencies;
+    this.instructionTypes = new byte[capacity];
+    this.entityIds = new int[capacity];
+    this.currencyIds = new int[capacity];
+    this.scaledAgreedFxs = new long[capacity];
+    this.numberOfUnits = new int[capacity];
+    this.scaledPricesPerUnit = new long[capacity];
+    this.scaledUSDAmounts = new long[capacity];
+    this.actualSettlementEpochDays = new int[capacity];
+  }
+
+  /**
+   * This method creates a batch holding the given trade instructions.
+   *
+   * @param tradeInstructions - a list of trade instructions
+   * @return batch with one row per trade instruction.
+   */
+  public static InstructionBatch of(final Iterable<TradeInstruction> tradeInstructions) {
+    Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
+    final InstructionBatch batch = new InstructionBatch();
+    for (final TradeInstruction tradeInstruction : tradeInstructions) {
+      batch.add(tradeInstruction);
+    }
+    return batch;
+  }
+
+  /**
+   * This method appends a trade instruction to the batch.
+   *
+   * @param tradeInstruction - trade instruction to be added
+   */
+  public void add(final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    add(tradeInstruction.getInstructionType(), tradeInstruction.getEntityName(),
+        tradeInstruction.getCurrency(), tradeInstruction.getAgreedFx(),
+        tradeInstruction.getNumberOfUnits(), tradeInstruction.getPricePerUnit(),
+        Math.toIntExact(tradeInstruction.getActualSettlementDate().toEpochDay()));
+  }
+
+  /**
+   * This method appends an already parsed instruction to the batch.
+   *
+   * @param instructionType          - type of instruction (incoming or outgoing)
+   * @param entityName               - name of the entity
+   * @param currency                 - currency of the trade
+   * @param agreedFx                 - exchange rate
+   * @param numberOfUnits            - number of units to buy or sell
+   * @param pricePerUnit             - price of a unit
+   * @param actualSettlementEpochDay - working day of the settlement as days since 1970-01-01
+   */
+  public void add(final InstructionType instructionType, final String entityName,
+      final String currency, final double agreedFx, final int numberOfUnits,
+      final double pricePerUnit, final int actualSettlementEpochDay) {
+    add(instructionType, entityNames.encode(entityName), currencies.encode(currency), agreedFx,
+        numberOfUnits, pricePerUnit, actualSettlementEpochDay);
+  }
+
+  /**
+   * This method appends an instruction whose entity and currency are already encoded, for example
+   * by a parser sharing the symbol table of the batch, so the names are not hashed again.
+   *
+   * @param instructionType          - type of instruction (incoming or outgoing)
+   * @param entityId                 - id of the entity in the entity dictionary of the batch
+   * @param currencyId               - id of the currency in the currency dictionary of the batch
+   * @param agreedFx                 - exchange rate
+   * @param numberOfUnits            - number of units to buy or sell
+   * @param pricePerUnit             - price of a unit
+   * @param actualSettlementEpochDay - working day of the settlement as days since 1970-01-01
+   */
+  public void add(final InstructionType instructionType, final int entityId,
+      final int currencyId, final double agreedFx, final int numberOfUnits,
+      final double pricePerUnit, final int actualSettlementEpochDay) {
+    Objects.requireNonNull(instructionType, "Instruction type should be provided.");
+    if (entityId < 0 || entityId >= entityNames.size()) {
+      throw new IllegalArgumentException("Entity id " + entityId + " is not encoded.");
+    }
+    if (currencyId < 0 || currencyId >= currencies.size()) {
+      throw new IllegalArgumentException("Currency id " + currencyId + " is not encoded.");
+    }
+    final long scaledAgreedFx = FixedPoint.toScaled(agreedFx);
+    final long scaledPricePerUnit = FixedPoint.toScaled(pricePerUnit);
+    final long scaledUSDAmount =
+        FixedPoint.usdAmount(scaledPricePerUnit, numberOfUnits, scaledAgreedFx);
+    if (size == instructionTypes.length) {
+      grow();
+    }
+    instructionTypes[size] = (byte) instructionType.ordinal();
+    entityIds[size] = entityId;
+    currencyIds[size] = currencyId;
+    scaledAgreedFxs[size] = scaledAgreedFx;
+    this.numberOfUnits[size] = numberOfUnits;
+    scaledPricesPerUnit[size] = scaledPricePerUnit;
+    scaledUSDAmounts[size] = scaledUSDAmount;
+    actualSettlementEpochDays[size] = actualSettlementEpochDay;
+    size++;
+    version++;
+  }
+
+  /**
+   * This method corrects the agreed exchange rate of every instruction of the given currency that
+   * settles on the given day, and converts their USD amounts again.
+   *
+   * @param currencyId               - id of the currency in the currency dictionary of the batch
+   * @param actualSettlementEpochDay - working day of the settlement as days since 1970-01-01
+   * @param agreedFx                 - corrected exchange rate
+   * @return number of instructions corrected.
+   */
+  public int correctAgreedFx(final int currencyId, final int actualSettlementEpochDay,
+      final double agreedFx) {
+    if (currencyId < 0 || currencyId >= currencies.size()) {
+      throw new IllegalArgumentException("Currency id " + currencyId + " is not encoded.");
+    }
+    final long scaledAgreedFx = FixedPoint.toScaled(agreedFx);
+    int corrected = 0;
+    for (int i = 0; i < size; i++) {
+      if (currencyIds[i] == currencyId
+          && actualSettlementEpochDays[i] == actualSettlementEpochDay) {
+        scaledAgreedFxs[i] = scaledAgreedFx;
+        scaledUSDAmounts[i] =
+            FixedPoint.usdAmount(scaledPricesPerUnit[i], numberOfUnits[i], scaledAgreedFx);
+        corrected++;
+      }
+    }
+    if (corrected > 0) {
+      version++;
+    }
+    return corrected;
+  }
+
+  private void grow() {
+    final int capacity = Math.max(DEFAULT_CAPACITY, instructionTypes.length * 2);
+    instructionTypes = Arrays.copyOf(instructionTypes, capacity);
+    entityIds = Arrays.copyOf(entityIds, capacity);
+    currencyIds = Arrays.copyOf(currencyIds, capacity);
+    scaledAgreedFxs = Arrays.copyOf(scaledAgreedFxs, capacity);
+    numberOfUnits = Arrays.copyOf(numberOfUnits, capacity);
+    scaledPricesPerUnit = Arrays.copyOf(scaledPricesPerUnit, capacity);
+    scaledUSDAmounts = Arrays.copyOf(scaledUSDAmounts, capacity);
+    actualSettlementEpochDays = Arrays.copyOf(actualSettlementEpochDays, capacity);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return number that changes whenever an instruction is added or corrected, so totals derived
+   * from the batch can tell whether they are still current.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  public StringDictionary getEntityNames() {
+    return entityNames;
+  }
+
+  public StringDictionary getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * The column accessors below expose the backing arrays for aggregation loops. Only the first
+   * {@link #size()} elements are valid and the arrays must not be modified.
+   */
+  public byte[] instructionTypes() {
+    return instructionTypes;
+  }
+
+  public int[] entityIds() {
+    return entityIds;
+  }
+
+  public int[] currencyIds() {
+    return currencyIds;
+  }
+
+  public long[] scaledAgreedFxs() {
+    return scaledAgreedFxs;
+  }
+
+  public int[] numberOfUnits() {
+    return numberOfUnits;
+  }
+
+  public long[] scaledPricesPerUnit() {
+    return scaledPricesPerUnit;
+  }
+
+  public long[] scaledUSDAmounts() {
+    return scaledUSDAmounts;
+  }
+
+  public int[] actualSettlementEpochDays() {
+    return actualSettlementEpochDays;
+  }
+
+  public double getUSDAmount(final int index) {
+    return FixedPoint.toDouble(scaledUSDAmounts[index]);
+  }
+}
@@ -0,0 +1,86 @@
+package trade.report.model;
+
+import java.util.Objects;
+import trade.report.enums.InstructionEventType;
+
+/**
+ * Class that holds a versioned change to a trade instruction. Every instruction is identified by
+ * an id chosen by the client; each event on it carries a version that is higher than the version
+ * of the event before, so events delivered late or twice can be recognised and ignored.
+ */
+public final class InstructionEvent {
+
+  private final String instructionId;
+  private final long version;
+  private final InstructionEventType eventType;
+  private final TradeInstruction tradeInstruction;
+
+  private InstructionEvent(final String instructionId, final long version,
+      final InstructionEventType eventType, final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(instructionId, "Instruction id should be provided.");
+    this.instructionId = instructionId;
+    this.version = version;
+    this.eventType = eventType;
+    this.tradeInstruction = tradeInstruction;
+  }
+
+  /**
+   * This method creates the event of a new instruction.
+   *
+   * @param instructionId    - id of the instruction
+   * @param version          - version of the instruction
+   * @param tradeInstruction - the instruction
+   * @return event adding the instruction.
+   */
+  public static InstructionEvent create(final String instructionId, final long version,
+      final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    return new InstructionEvent(instructionId, version, InstructionEventType.NEW,
+        tradeInstruction);
+  }
+
+  /**
+   * This method creates the event of an amended instruction.
+   *
+   * @param instructionId    - id of the instruction
+   * @param version          - version of the instruction after the amendment
+   * @param tradeInstruction - the instruction as amended
+   * @return event replacing the instruction.
+   */
+  public static InstructionEvent amend(final String instructionId, final long version,
+      final TradeInstruction tradeInstruction) {
+    Objects.requireNonNull(tradeInstruction, "Trade instruction should not be null.");
+    return new InstructionEvent(instructionId, version, InstructionEventType.AMEND,
+        tradeInstruction);
+  }
+
+  /**
+   * This method creates the event of a cancelled instruction.
+   *
+   * @param instructionId - id of the instruction
+   * @param version       - version of the instruction after the cancellation
+   * @return event removing the instruction.
+   */
+  public static InstructionEvent cancel(final String instructionId, final long version) {
+    return new InstructionEvent(instructionId, version, InstructionEventType.CANCEL, null);
+  }
+
+  public String getInstructionId() {
+    return instructionId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public InstructionEventType getEventType() {
+    return eventType;
+  }
+
+  /**
+   * @return the instruction as created or amended, or null for a cancellation.
+   */
+  public TradeInstruction getTradeInstruction() {
+    return tradeInstruction;
+  }
+}
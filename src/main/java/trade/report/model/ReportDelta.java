@@ -0,0 +1,131 @@
+package trade.report.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import trade.report.enums.InstructionType;
+import trade.report.util.FixedPoint;
+
+/**
+ * Class that holds the rows of a settlement report changed by an instruction event. A row whose
+ * last instruction was retracted is reported as removed.
+ */
+public final class ReportDelta {
+
+  public static final ReportDelta EMPTY = new ReportDelta(List.of(), List.of());
+
+  private final List<SettlementChange> settlementChanges;
+  private final List<EntityChange> entityChanges;
+
+  /**
+   * @param settlementChanges changed settlements per date
+   * @param entityChanges     changed USD totals per entity
+   */
+  public ReportDelta(final List<SettlementChange> settlementChanges,
+      final List<EntityChange> entityChanges) {
+    this.settlementChanges = Collections.unmodifiableList(settlementChanges);
+    this.entityChanges = Collections.unmodifiableList(entityChanges);
+  }
+
+  public List<SettlementChange> getSettlementChanges() {
+    return settlementChanges;
+  }
+
+  public List<EntityChange> getEntityChanges() {
+    return entityChanges;
+  }
+
+  public boolean isEmpty() {
+    return settlementChanges.isEmpty() && entityChanges.isEmpty();
+  }
+
+  /**
+   * Class that holds the new USD amount settled on a date.
+   */
+  public static final class SettlementChange {
+
+    private final InstructionType instructionType;
+    private final LocalDate settlementDate;
+    private final long scaledAmount;
+    private final boolean removed;
+
+    /**
+     * @param instructionType type of instruction (incoming or outgoing)
+     * @param settlementDate  actual settlement date of the row
+     * @param scaledAmount    USD amount now settled on the date in fixed point
+     * @param removed         whether no instruction settles on the date any more
+     */
+    public SettlementChange(final InstructionType instructionType,
+        final LocalDate settlementDate, final long scaledAmount, final boolean removed) {
+      this.instructionType = instructionType;
+      this.settlementDate = settlementDate;
+      this.scaledAmount = scaledAmount;
+      this.removed = removed;
+    }
+
+    public InstructionType getInstructionType() {
+      return instructionType;
+    }
+
+    public LocalDate getSettlementDate() {
+      return settlementDate;
+    }
+
+    public double getAmount() {
+      return FixedPoint.toDouble(scaledAmount);
+    }
+
+    public long getScaledAmount() {
+      return scaledAmount;
+    }
+
+    public boolean isRemoved() {
+      return removed;
+    }
+  }
+
+  /**
+   * Class that holds the new USD total of an entity.
+   */
+  public static final class EntityChange {
+
+    private final InstructionType instructionType;
+    private final String entityName;
+    private final long scaledAmount;
+    private final boolean removed;
+
+    /**
+     * @param instructionType type of instruction (incoming or outgoing)
+     * @param entityName      name of the entity
+     * @param scaledAmount    USD total of the entity now in fixed point
+     * @param removed         whether the entity has no instruction of the type any more
+     */
+    public EntityChange(final InstructionType instructionType, final String entityName,
+        final long scaledAmount, final boolean removed) {
+      this.instructionType = instructionType;
+      this.entityName = entityName;
+      this.scaledAmount = scaledAmount;
+      this.removed = removed;
+    }
+
+    public InstructionType getInstructionType() {
+      return instructionType;
+    }
+
+    public String getEntityName() {
+      return entityName;
+    }
+
+    public double getAmount() {
+      return FixedPoint.toDouble(scaledAmount);
+    }
+
+    public long getScaledAmount() {
+      return scaledAmount;
+    }
+
+    public boolean isRemoved() {
+      return removed;
+    }
+  }
+}
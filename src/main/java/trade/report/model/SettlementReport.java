@@ -0,0 +1,67 @@
+package trade.report.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import trade.report.enums.InstructionType;
+
+/**
+ * Class that holds the result of a trade report run: USD settlements per date and entity rankings
+ * for each instruction type.
+ */
+public final class SettlementReport {
+
+  private final Map<InstructionType, Map<LocalDate, Double>> settlements;
+  private final Map<InstructionType, List<Map.Entry<String, Double>>> rankings;
+
+  /**
+   * @param settlements USD settlement amounts per date for each instruction type
+   * @param rankings    ranked entity amounts for each instruction type
+   */
+  public SettlementReport(final Map<InstructionType, Map<LocalDate, Double>> settlements,
+      final Map<InstructionType, List<Map.Entry<String, Double>>> rankings) {
+    Objects.requireNonNull(settlements, "Settlements should be provided.");
+    Objects.requireNonNull(rankings, "Rankings should be provided.");
+
+    this.settlements = new EnumMap<>(InstructionType.class);
+    this.rankings = new EnumMap<>(InstructionType.class);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      this.settlements.put(instructionType, Collections.unmodifiableSortedMap(
+          new TreeMap<>(settlements.getOrDefault(instructionType, Map.of()))));
+      this.rankings.put(instructionType, Collections.unmodifiableList(
+          new ArrayList<>(rankings.getOrDefault(instructionType, List.of()))));
+    }
+  }
+
+  /**
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return USD amount settled on each date for the given instruction type, ordered by date.
+   */
+  public Map<LocalDate, Double> getSettlements(final InstructionType instructionType) {
+    return settlements.get(instructionType);
+  }
+
+  /**
+   * @param instructionType - type of instruction (incoming or outgoing)
+   * @return entity rankings in descending order of USD amount for the given instruction type.
+   */
+  public List<Map.Entry<String, Double>> getRankings(final InstructionType instructionType) {
+    return rankings.get(instructionType);
+  }
+
+  /**
+   * @return number of settlement dates and ranked entities over both instruction types.
+   */
+  public int getRowCount() {
+    int rows = 0;
+    for (final InstructionType instructionType : InstructionType.values()) {
+      rows += settlements.get(instructionType).size() + rankings.get(instructionType).size();
+    }
+    return rows;
+  }
+}
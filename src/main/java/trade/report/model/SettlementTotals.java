@@ -0,0 +1,57 @@
+package trade.report.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import trade.report.util.FixedPoint;
+
+/**
+ * Class that holds USD settlement totals per settlement date in primitive arrays, ordered by date.
+ */
+public final class SettlementTotals {
+
+  private final int[] epochDays;
+  private final long[] amounts;
+
+  /**
+   * @param epochDays settlement dates as days since 1970-01-01, in ascending order
+   * @param amounts   USD amount in fixed point settled on the date at the same index
+   */
+  public SettlementTotals(final int[] epochDays, final long[] amounts) {
+    if (epochDays.length != amounts.length) {
+      throw new IllegalArgumentException("Settlement dates and amounts should have the same size.");
+    }
+    this.epochDays = epochDays;
+    this.amounts = amounts;
+  }
+
+  public int size() {
+    return epochDays.length;
+  }
+
+  public int getEpochDay(final int index) {
+    return epochDays[index];
+  }
+
+  public double getAmount(final int index) {
+    return FixedPoint.toDouble(amounts[index]);
+  }
+
+  public long getScaledAmount(final int index) {
+    return amounts[index];
+  }
+
+  /**
+   * This method converts the totals into a map ordered by settlement date.
+   *
+   * @return USD amount settled on each date.
+   */
+  public Map<LocalDate, Double> toMap() {
+    final Map<LocalDate, Double> settlements = new LinkedHashMap<>();
+    for (int i = 0; i < epochDays.length; i++) {
+      settlements.put(LocalDate.ofEpochDay(epochDays[i]), getAmount(i));
+    }
+    return Collections.unmodifiableMap(settlements);
+  }
+}
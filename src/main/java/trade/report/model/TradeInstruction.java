@@ -2,10 +2,15 @@ package trade.report.model;
 
 import static trade.report.util.TradeReportUtility.dateFormatter;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Objects;
+import trade.report.calendar.SettlementCalendar;
+import trade.report.calendar.WeekendSettlementCalendar;
 import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
+import trade.report.util.FixedPoint;
 
 /**
  * Class that holds trade Instruction
@@ -16,10 +21,13 @@ public final class TradeInstruction {
   private final InstructionType instructionType;
   private final double agreedFx;
   private final LocalDate instructionDate;
+  private final LocalDate instructedSettlementDate;
   private final String currency;
   private final int numberOfUnits;
   private final double pricePerUnit;
   private final LocalDate actualSettlementDate;
+  private final double usdAmount;
+  private final long scaledUSDAmount;
 
   /**
    * @param entityName               name of the entity
@@ -36,42 +44,86 @@ public final class TradeInstruction {
       final String currency, final String instructionDate,
       final String instructedSettlementDate,
       final int numberOfUnits, final double pricePerUnit) {
+    this(entityName, parseInstructionType(instructionType), agreedFx, currency,
+        LocalDate.parse(instructionDate, dateFormatter),
+        parseSettlementDate(instructedSettlementDate), numberOfUnits, pricePerUnit);
+  }
+
+  /**
+   * Creates a trade instruction from values that have already been parsed, settling on the
+   * weekend rules of the currency.
+   *
+   * @param entityName               name of the entity
+   * @param instructionType          type of the instruction
+   * @param agreedFx                 exchange rate
+   * @param currency                 name of the currency
+   * @param instructionDate          date when the transaction was instructed
+   * @param instructedSettlementDate date when transaction is instructed to be settled
+   * @param numberOfUnits            number of units to buy or sell
+   * @param pricePerUnit             price of a unit
+   */
+  public TradeInstruction(final String entityName, final InstructionType instructionType,
+      final double agreedFx,
+      final String currency, final LocalDate instructionDate,
+      final LocalDate instructedSettlementDate,
+      final int numberOfUnits, final double pricePerUnit) {
+    this(entityName, instructionType, agreedFx, currency, instructionDate,
+        instructedSettlementDate, numberOfUnits, pricePerUnit,
+        WeekendSettlementCalendar.INSTANCE);
+  }
+
+  /**
+   * Creates a trade instruction from values that have already been parsed, settling on the given
+   * calendar.
+   *
+   * @param entityName               name of the entity
+   * @param instructionType          type of the instruction
+   * @param agreedFx                 exchange rate
+   * @param currency                 name of the currency
+   * @param instructionDate          date when the transaction was instructed
+   * @param instructedSettlementDate date when transaction is instructed to be settled
+   * @param numberOfUnits            number of units to buy or sell
+   * @param pricePerUnit             price of a unit
+   * @param settlementCalendar       calendar deciding the actual settlement date
+   */
+  public TradeInstruction(final String entityName, final InstructionType instructionType,
+      final double agreedFx,
+      final String currency, final LocalDate instructionDate,
+      final LocalDate instructedSettlementDate,
+      final int numberOfUnits, final double pricePerUnit,
+      final SettlementCalendar settlementCalendar) {
     Objects.requireNonNull(entityName, "Entity name should be provided.");
     Objects.requireNonNull(instructionType, "Instruction type should be provided.");
     Objects.requireNonNull(currency, "Currency should be provided.");
     Objects.requireNonNull(instructedSettlementDate, "Settlement date should be provided.");
+    Objects.requireNonNull(settlementCalendar, "Settlement calendar should be provided.");
 
     this.entityName = entityName;
-    this.instructionType = InstructionType.fromType(instructionType);
+    this.instructionType = instructionType;
     this.agreedFx = agreedFx;
-    this.instructionDate = LocalDate.parse(instructionDate, dateFormatter);
+    this.instructionDate = instructionDate;
+    this.instructedSettlementDate = instructedSettlementDate;
     this.numberOfUnits = numberOfUnits;
     this.pricePerUnit = pricePerUnit;
     this.currency = currency;
-    this.actualSettlementDate = calculateActualSettlementDate(instructedSettlementDate, currency);
+    this.usdAmount = pricePerUnit * numberOfUnits * agreedFx;
+    this.scaledUSDAmount = FixedPoint.usdAmount(FixedPoint.toScaled(pricePerUnit), numberOfUnits,
+        FixedPoint.toScaled(agreedFx));
+    try (Span span = PipelineMetrics.span(PipelineStage.SETTLEMENT)) {
+      span.items(1);
+      this.actualSettlementDate = settlementCalendar.actualSettlementDate(
+          instructedSettlementDate, currency);
+    }
   }
 
-  /**
-   * This method calculates the working day when settlement can take place based on the instructed
-   * settlement date and currency.
-   *
-   * @param instructedSettlementDate - date instructed by the client for settlement of trade.
-   * @param currency                 - currency of the trade
-   * @return actual date when settlement will take place.
-   */
-  private LocalDate calculateActualSettlementDate(final String instructedSettlementDate,
-      final String currency) {
-    final LocalDate settlementDate = LocalDate.parse(instructedSettlementDate, dateFormatter);
-    final DayOfWeek dayOfWeek = settlementDate.getDayOfWeek();
-
-    final boolean isAEDorSAR = "AED".equals(currency) || "SAR".equals(currency);
+  private static InstructionType parseInstructionType(final String instructionType) {
+    Objects.requireNonNull(instructionType, "Instruction type should be provided.");
+    return InstructionType.fromType(instructionType);
+  }
 
-    return switch (dayOfWeek) {
-      case FRIDAY -> isAEDorSAR ? settlementDate.plusDays(2) : settlementDate;
-      case SATURDAY -> settlementDate.plusDays(isAEDorSAR ? 1 : 2);
-      case SUNDAY -> isAEDorSAR ? settlementDate : settlementDate.plusDays(1);
-      default -> settlementDate;
-    };
+  private static LocalDate parseSettlementDate(final String instructedSettlementDate) {
+    Objects.requireNonNull(instructedSettlementDate, "Settlement date should be provided.");
+    return LocalDate.parse(instructedSettlementDate, dateFormatter);
   }
 
   public String getEntityName() {
@@ -90,11 +142,45 @@ public final class TradeInstruction {
     return instructionDate;
   }
 
+  public LocalDate getInstructedSettlementDate() {
+    return instructedSettlementDate;
+  }
+
   public String getCurrency() {
     return currency;
   }
 
+  public double getAgreedFx() {
+    return agreedFx;
+  }
+
+  public int getNumberOfUnits() {
+    return numberOfUnits;
+  }
+
+  public double getPricePerUnit() {
+    return pricePerUnit;
+  }
+
+  /**
+   * This method returns the USD amount of the instruction, calculated once when it was created, so
+   * sorting and repeated reports over the same instructions do not convert it again.
+   *
+   * @return USD amount.
+   */
   public double calculateUSDAmount() {
-    return pricePerUnit * numberOfUnits * agreedFx;
+    return usdAmount;
+  }
+
+  /**
+   * This method returns the USD amount in fixed point, exactly up to rounding to the nearest
+   * millionth of a dollar, so totals built from it do not depend on the order of addition. It is
+   * calculated once when the instruction is created, which rejects amounts outside the fixed-point
+   * range with an {@link ArithmeticException}.
+   *
+   * @return USD amount scaled by {@link FixedPoint#SCALE}.
+   */
+  public long calculateScaledUSDAmount() {
+    return scaledUSDAmount;
   }
 }
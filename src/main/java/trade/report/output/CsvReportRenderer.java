@@ -0,0 +1,46 @@
+package trade.report.output;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+
+/**
+ * Renders a settlement report as CSV with one row per settlement date and one row per ranked
+ * entity. The record column tells the two kinds of rows apart.
+ */
+public final class CsvReportRenderer implements ReportRenderer {
+
+  @Override
+  public void render(final SettlementReport report, final ReportWriter writer)
+      throws IOException {
+    writer.write("record,instructionType,rank,settlementDate,entity,usdAmount").newLine();
+    for (final InstructionType instructionType : InstructionType.values()) {
+      for (final Map.Entry<LocalDate, Double> entry :
+          report.getSettlements(instructionType).entrySet()) {
+        writer.write("settlement,").write(instructionType.name()).write(",,")
+            .writeDate(entry.getKey()).write(",,").writeAmount(entry.getValue()).newLine();
+      }
+    }
+    for (final InstructionType instructionType : InstructionType.values()) {
+      int ranking = 1;
+      for (final Map.Entry<String, Double> entry : report.getRankings(instructionType)) {
+        writer.write("ranking,").write(instructionType.name()).writeByte(',')
+            .writeLong(ranking++).write(",,");
+        writeField(entry.getKey(), writer);
+        writer.writeByte(',').writeAmount(entry.getValue()).newLine();
+      }
+    }
+  }
+
+  private static void writeField(final String value, final ReportWriter writer)
+      throws IOException {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      writer.write(value);
+      return;
+    }
+    writer.writeByte('"').write(value.replace("\"", "\"\"")).writeByte('"');
+  }
+}
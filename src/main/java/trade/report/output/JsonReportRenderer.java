@@ -0,0 +1,70 @@
+package trade.report.output;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+
+/**
+ * Renders a settlement report as a JSON document with the settlements and rankings of each
+ * instruction type.
+ */
+public final class JsonReportRenderer implements ReportRenderer {
+
+  @Override
+  public void render(final SettlementReport report, final ReportWriter writer)
+      throws IOException {
+    writer.write("{\"settlements\":{");
+    boolean firstType = true;
+    for (final InstructionType instructionType : InstructionType.values()) {
+      writer.write(firstType ? "\"" : ",\"").write(instructionType.name()).write("\":[");
+      firstType = false;
+      boolean first = true;
+      for (final Map.Entry<LocalDate, Double> entry :
+          report.getSettlements(instructionType).entrySet()) {
+        writer.write(first ? "{\"date\":\"" : ",{\"date\":\"").writeDate(entry.getKey())
+            .write("\",\"usdAmount\":").writeAmount(entry.getValue()).writeByte('}');
+        first = false;
+      }
+      writer.writeByte(']');
+    }
+    writer.write("},\"rankings\":{");
+    firstType = true;
+    for (final InstructionType instructionType : InstructionType.values()) {
+      writer.write(firstType ? "\"" : ",\"").write(instructionType.name()).write("\":[");
+      firstType = false;
+      int ranking = 1;
+      for (final Map.Entry<String, Double> entry : report.getRankings(instructionType)) {
+        writer.write(ranking == 1 ? "{\"rank\":" : ",{\"rank\":").writeLong(ranking++)
+            .write(",\"entity\":");
+        writeString(entry.getKey(), writer);
+        writer.write(",\"usdAmount\":").writeAmount(entry.getValue()).writeByte('}');
+      }
+      writer.writeByte(']');
+    }
+    writer.write("}}").newLine();
+  }
+
+  private static void writeString(final String value, final ReportWriter writer)
+      throws IOException {
+    writer.writeByte('"');
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\' || c < 0x20) {
+        writer.write(value.substring(start, i));
+        switch (c) {
+          case '"' -> writer.write("\\\"");
+          case '\\' -> writer.write("\\\\");
+          case '\n' -> writer.write("\\n");
+          case '\r' -> writer.write("\\r");
+          case '\t' -> writer.write("\\t");
+          default -> writer.write(String.format("\\u%04x", (int) c));
+        }
+        start = i + 1;
+      }
+    }
+    writer.write(start == 0 ? value : value.substring(start)).writeByte('"');
+  }
+}
@@ -0,0 +1,19 @@
+package trade.report.output;
+
+import java.io.IOException;
+import trade.report.model.SettlementReport;
+
+/**
+ * Renders a settlement report in a particular output format.
+ */
+public interface ReportRenderer {
+
+  /**
+   * This method writes the settlements and rankings of the report.
+   *
+   * @param report - report to render
+   * @param writer - writer the output is written to
+   * @throws IOException if the output cannot be written
+   */
+  void render(SettlementReport report, ReportWriter writer) throws IOException;
+}
@@ -0,0 +1,257 @@
+package trade.report.output;
+
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * This class writes report output through a single reusable byte buffer. Numbers, amounts and
+ * dates are formatted straight into the buffer instead of through String.format, and the buffer is
+ * only handed to the underlying channel when it is full or flushed.
+ */
+public final class ReportWriter implements Closeable, Flushable {
+
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+  private static final byte[] LINE_SEPARATOR =
+      System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+  private static final byte[][] MONTHS = {
+      ascii("Jan"), ascii("Feb"), ascii("Mar"), ascii("Apr"), ascii("May"), ascii("Jun"),
+      ascii("Jul"), ascii("Aug"), ascii("Sep"), ascii("Oct"), ascii("Nov"), ascii("Dec")};
+  private static final double MAX_FAST_AMOUNT = 1e13;
+
+  private final WritableByteChannel channel;
+  private final OutputStream outputStream;
+  private final boolean closeChannel;
+  private final byte[] buffer;
+  private final ByteBuffer byteBuffer;
+  private final byte[] digits = new byte[20];
+  private int position;
+
+  private ReportWriter(final WritableByteChannel channel, final OutputStream outputStream,
+      final boolean closeChannel, final int bufferSize) {
+    this.channel = channel;
+    this.outputStream = outputStream;
+    this.closeChannel = closeChannel;
+    this.buffer = new byte[bufferSize];
+    this.byteBuffer = ByteBuffer.wrap(buffer);
+  }
+
+  /**
+   * This method opens a writer that replaces the content of the given file through a file channel.
+   *
+   * @param path - path of the report file
+   * @return writer over the file.
+   * @throws IOException if the file cannot be opened
+   */
+  public static ReportWriter open(final Path path) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    return new ReportWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), null, true,
+        DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * This method creates a writer over an output stream. Closing the writer flushes it but leaves
+   * the stream open, so it can be used with {@code System.out}.
+   *
+   * @param outputStream - stream the report is written to
+   * @return writer over the stream.
+   */
+  public static ReportWriter of(final OutputStream outputStream) {
+    Objects.requireNonNull(outputStream, "Output stream should be provided.");
+    return new ReportWriter(Channels.newChannel(outputStream), outputStream, false,
+        DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * This method writes a string encoded as UTF-8.
+   *
+   * @param value - text to write
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter write(final String value) throws IOException {
+    final int length = value.length();
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c >= 0x80) {
+        return writeBytes(value.substring(i).getBytes(StandardCharsets.UTF_8));
+      }
+      writeByte(c);
+    }
+    return this;
+  }
+
+  /**
+   * This method writes a single ASCII character.
+   *
+   * @param value - character to write
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter writeByte(final int value) throws IOException {
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte) value;
+    return this;
+  }
+
+  /**
+   * This method writes the platform line separator.
+   *
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter newLine() throws IOException {
+    return writeBytes(LINE_SEPARATOR);
+  }
+
+  /**
+   * This method writes an integer in decimal notation.
+   *
+   * @param value - number to write
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter writeLong(final long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      return write(Long.toString(value));
+    }
+    long remaining = value;
+    if (remaining < 0) {
+      writeByte('-');
+      remaining = -remaining;
+    }
+    int count = 0;
+    do {
+      digits[count++] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining != 0);
+    while (count > 0) {
+      writeByte(digits[--count]);
+    }
+    return this;
+  }
+
+  /**
+   * This method writes an amount with two decimals, rounded like {@code String.format("%.2f")}.
+   * Amounts that are too large or too close to a rounding tie for the fast path are rounded with
+   * BigDecimal on the decimal representation of the double, as the formatter does.
+   *
+   * @param amount - amount to write
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter writeAmount(final double amount) throws IOException {
+    final double magnitude = Math.abs(amount);
+    if (Double.isNaN(amount) || magnitude >= MAX_FAST_AMOUNT) {
+      return write(Double.isFinite(amount) ? formatExactly(amount) : String.format("%.2f", amount));
+    }
+    final double scaled = magnitude * 100;
+    final double fraction = scaled - Math.floor(scaled);
+    final double tolerance = Math.max(1e-6, 4 * Math.ulp(scaled));
+    if (Math.abs(fraction - 0.5) <= tolerance) {
+      return write(formatExactly(amount));
+    }
+
+    final long cents = (long) Math.floor(scaled + 0.5);
+    if (Double.doubleToRawLongBits(amount) < 0) {
+      writeByte('-');
+    }
+    writeLong(cents / 100);
+    writeByte('.');
+    writeByte('0' + (int) (cents % 100 / 10));
+    return writeByte('0' + (int) (cents % 10));
+  }
+
+  /**
+   * This method writes a date in the "dd MMM yyyy" format used throughout the reports.
+   *
+   * @param date - date to write
+   * @return this writer.
+   * @throws IOException if the output cannot be written
+   */
+  public ReportWriter writeDate(final LocalDate date) throws IOException {
+    final int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      return write(date.format(dateFormatter));
+    }
+    final int day = date.getDayOfMonth();
+    writeByte('0' + day / 10);
+    writeByte('0' + day % 10);
+    writeByte(' ');
+    writeBytes(MONTHS[date.getMonthValue() - 1]);
+    writeByte(' ');
+    writeByte('0' + year / 1000);
+    writeByte('0' + year / 100 % 10);
+    writeByte('0' + year / 10 % 10);
+    return writeByte('0' + year % 10);
+  }
+
+  private ReportWriter writeBytes(final byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      final int length = Math.min(bytes.length - offset, buffer.length - position);
+      System.arraycopy(bytes, offset, buffer, position, length);
+      position += length;
+      offset += length;
+    }
+    return this;
+  }
+
+  private static String formatExactly(final double amount) {
+    final String formatted = new BigDecimal(Double.toString(Math.abs(amount)))
+        .setScale(2, RoundingMode.HALF_UP).toPlainString();
+    return Double.doubleToRawLongBits(amount) < 0 ? "-" + formatted : formatted;
+  }
+
+  private void flushBuffer() throws IOException {
+    byteBuffer.limit(position).position(0);
+    while (byteBuffer.hasRemaining()) {
+      channel.write(byteBuffer);
+    }
+    byteBuffer.clear();
+    position = 0;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    flushBuffer();
+    if (outputStream != null) {
+      outputStream.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      if (closeChannel) {
+        channel.close();
+      }
+    }
+  }
+
+  private static byte[] ascii(final String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,51 @@
+package trade.report.output;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+
+/**
+ * Renders a settlement report as the human readable text printed by TradeReport.
+ */
+public final class TextReportRenderer implements ReportRenderer {
+
+  @Override
+  public void render(final SettlementReport report, final ReportWriter writer)
+      throws IOException {
+    writer.write("### Outgoing USD Settlements for dates ###").newLine();
+    renderSettlements(report.getSettlements(InstructionType.BUY), writer);
+    writer.write("### End of Outgoing USD Settlements ###").newLine();
+    writer.write(" ").newLine();
+    writer.write("### Incoming USD Settlements for dates ###").newLine();
+    renderSettlements(report.getSettlements(InstructionType.SELL), writer);
+    writer.write("### End of Incoming USD Settlements ###").newLine();
+    writer.write("         ").newLine();
+    writer.write("### Ranking of Entities based on Outgoing USD Settlements ### ").newLine();
+    renderRankings(report.getRankings(InstructionType.BUY), writer);
+    writer.write("### End of Ranking of Outgoing USD Settlements ###            ").newLine();
+    writer.write("         ").newLine();
+    writer.write("### Ranking of Entities based on Incoming USD Settlements ### ").newLine();
+    renderRankings(report.getRankings(InstructionType.SELL), writer);
+    writer.write("### End of Ranking of Incoming USD Settlements ### ").newLine();
+  }
+
+  private static void renderSettlements(final Map<LocalDate, Double> settlements,
+      final ReportWriter writer) throws IOException {
+    for (final Map.Entry<LocalDate, Double> entry : settlements.entrySet()) {
+      writer.writeDate(entry.getKey()).write(" - $(").writeAmount(entry.getValue()).write(")")
+          .newLine();
+    }
+  }
+
+  private static void renderRankings(final List<Map.Entry<String, Double>> rankings,
+      final ReportWriter writer) throws IOException {
+    int ranking = 1;
+    for (final Map.Entry<String, Double> entry : rankings) {
+      writer.writeLong(ranking++).write(") ").write(entry.getKey()).write(" $(")
+          .writeAmount(entry.getValue()).write(")").newLine();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package trade.report.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This class maps byte sequences to canonical strings. Looking up a sequence that has been seen
+ * before does not allocate, so repeated values such as entity names and currencies share a single
+ * String instance across all parsed records.
+ */
+public final class ByteStringInterner {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private byte[][] keys = new byte[INITIAL_CAPACITY][];
+  private String[] values = new String[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * This method returns the canonical string for the bytes between the given offsets, creating it
+   * only the first time the sequence is seen.
+   *
+   * @param bytes - buffer holding the UTF-8 encoded value
+   * @param start - offset of the first byte, inclusive
+   * @param end   - offset of the last byte, exclusive
+   * @return canonical string for the byte sequence.
+   */
+  public String intern(final byte[] bytes, final int start, final int end) {
+    final int hash = hash(bytes, start, end);
+    final int mask = keys.length - 1;
+    int slot = hash & mask;
+    while (keys[slot] != null) {
+      if (hashes[slot] == hash
+          && Arrays.equals(keys[slot], 0, keys[slot].length, bytes, start, end)) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    final String value = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    keys[slot] = Arrays.copyOfRange(bytes, start, end);
+    values[slot] = value;
+    hashes[slot] = hash;
+    if (++size * 2 > keys.length) {
+      resize();
+    }
+    return value;
+  }
+
+  /**
+   * @return number of distinct values interned so far.
+   */
+  public int size() {
+    return size;
+  }
+
+  private static int hash(final byte[] bytes, final int start, final int end) {
+    int hash = 1;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + bytes[i];
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private void resize() {
+    final byte[][] oldKeys = keys;
+    final String[] oldValues = values;
+    final int[] oldHashes = hashes;
+    keys = new byte[oldKeys.length * 2][];
+    values = new String[oldKeys.length * 2];
+    hashes = new int[oldKeys.length * 2];
+    final int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = oldHashes[i] & mask;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package trade.report.util;
+
+/**
+ * This class defines the fixed-point representation used for prices, exchange rates and USD
+ * amounts. Values are held as longs scaled by {@link #SCALE}, i.e. in millionths, so sums of
+ * amounts are exact and do not depend on the order in which they are added. Every operation
+ * checks for overflow and throws {@link ArithmeticException} instead of wrapping.
+ */
+public final class FixedPoint {
+
+  public static final long SCALE = 1_000_000L;
+
+  private static final double MAX_DOUBLE = Long.MAX_VALUE / (double) SCALE;
+
+  /**
+   * Largest magnitude of two operands whose product is known to fit in a long.
+   */
+  private static final long MAX_SMALL_OPERAND = Integer.MAX_VALUE;
+
+  /**
+   * This method converts a value to fixed point, rounding to the nearest millionth.
+   *
+   * @param value - value to convert
+   * @return value scaled by {@link #SCALE}.
+   */
+  public static long toScaled(final double value) {
+    if (!(Math.abs(value) < MAX_DOUBLE)) {
+      throw new ArithmeticException("Value " + value + " is out of the fixed-point range.");
+    }
+    return Math.round(value * SCALE);
+  }
+
+  /**
+   * This method converts a fixed-point value back to a double.
+   *
+   * @param scaled - value scaled by {@link #SCALE}
+   * @return closest double to the value.
+   */
+  public static double toDouble(final long scaled) {
+    return scaled / (double) SCALE;
+  }
+
+  /**
+   * This method calculates the USD amount of an instruction as price per unit times number of
+   * units times agreed fx, rounded half-even to the nearest millionth of a dollar.
+   *
+   * @param scaledPricePerUnit - price of a unit in fixed point
+   * @param numberOfUnits      - number of units
+   * @param scaledAgreedFx     - exchange rate in fixed point
+   * @return USD amount in fixed point.
+   */
+  public static long usdAmount(final long scaledPricePerUnit, final int numberOfUnits,
+      final long scaledAgreedFx) {
+    return multiply(Math.multiplyExact(scaledPricePerUnit, numberOfUnits), scaledAgreedFx);
+  }
+
+  /**
+   * This method multiplies two fixed-point values exactly and rounds the product half-even to the
+   * nearest millionth. Operands of up to 31 bits, which covers most prices and rates, are
+   * multiplied directly; larger operands are split at {@link #SCALE} so no intermediate product
+   * exceeds a long unless the result itself does.
+   *
+   * @param a - first value scaled by {@link #SCALE}
+   * @param b - second value scaled by {@link #SCALE}
+   * @return product scaled by {@link #SCALE}.
+   */
+  public static long multiply(final long a, final long b) {
+    final long x = Math.absExact(a);
+    final long y = Math.absExact(b);
+    final long product = x <= MAX_SMALL_OPERAND && y <= MAX_SMALL_OPERAND
+        ? multiplySmall(x, y) : multiplyLarge(x, y);
+    return (a < 0) != (b < 0) ? -product : product;
+  }
+
+  private static long multiplySmall(final long x, final long y) {
+    final long exact = x * y;
+    final long product = exact / SCALE;
+    final long remainder = exact % SCALE;
+    return remainder > SCALE / 2 || (remainder == SCALE / 2 && (product & 1) == 1)
+        ? product + 1 : product;
+  }
+
+  private static long multiplyLarge(final long x, final long y) {
+    final long xHigh = x / SCALE;
+    final long xLow = x % SCALE;
+    final long yHigh = y / SCALE;
+    final long yLow = y % SCALE;
+
+    // x * y / SCALE = xHigh * y + xLow * yHigh + xLow * yLow / SCALE
+    long product = Math.addExact(Math.multiplyExact(xHigh, y), Math.multiplyExact(xLow, yHigh));
+    final long low = xLow * yLow;
+    product = Math.addExact(product, low / SCALE);
+    final long remainder = low % SCALE;
+    if (remainder > SCALE / 2 || (remainder == SCALE / 2 && (product & 1) == 1)) {
+      product = Math.incrementExact(product);
+    }
+    return product;
+  }
+
+  private FixedPoint() {
+  }
+}
@@ -0,0 +1,299 @@
+package trade.report.util;
+
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import trade.report.enums.InstructionType;
+import trade.report.model.TradeInstruction;
+
+/**
+ * This class generates synthetic trade instructions in any number for load tests. The same seed and
+ * settings always produce the same instructions, so a production-scale run can be reproduced
+ * offline.
+ *
+ * <p>Entities are drawn from a Zipf distribution, so a few entities account for most of the
+ * instructions as in a real book. Currencies follow a fixed mix of major currencies, with a
+ * configurable share of AED and SAR, whose weekend is Friday and Saturday. A configurable share of
+ * instructions is instructed to settle on a weekend day of its currency, so the settlement calendar
+ * moves it to the next working day.
+ */
+public final class InstructionGenerator {
+
+  private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "SGP", "CHF", "HKD",
+      "AUD"};
+  private static final int[] CURRENCY_WEIGHTS = {35, 22, 12, 10, 8, 5, 4, 4};
+  private static final String[] FRIDAY_SATURDAY_CURRENCIES = {"AED", "SAR"};
+  private static final int SETTLEMENT_LAG_DAYS = 5;
+  private static final int WEEK_DAYS = 7;
+
+  private final long seed;
+  private int entities = 1000;
+  private double entitySkew = 1.0;
+  private int buyPercent = 50;
+  private int fridaySaturdayPercent = 10;
+  private int weekendSettlementPercent = 30;
+  private LocalDate firstInstructionDate = LocalDate.of(2016, 1, 1);
+  private int instructionDays = 250;
+
+  /**
+   * @param seed seed of the random generator
+   */
+  public InstructionGenerator(final long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * This method sets the number of distinct entities, 1000 by default.
+   *
+   * @param entities - number of distinct entity names
+   * @return this generator.
+   */
+  public InstructionGenerator entities(final int entities) {
+    if (entities < 1) {
+      throw new IllegalArgumentException("Number of entities should be positive.");
+    }
+    this.entities = entities;
+    return this;
+  }
+
+  /**
+   * This method sets the exponent of the Zipf distribution of entities, 1 by default. Zero gives
+   * every entity the same share; higher values concentrate the instructions on fewer entities.
+   *
+   * @param entitySkew - exponent of the entity distribution
+   * @return this generator.
+   */
+  public InstructionGenerator entitySkew(final double entitySkew) {
+    if (!(entitySkew >= 0) || Double.isInfinite(entitySkew)) {
+      throw new IllegalArgumentException("Entity skew should be a non-negative number.");
+    }
+    this.entitySkew = entitySkew;
+    return this;
+  }
+
+  /**
+   * This method sets the share of buy instructions, 50 percent by default.
+   *
+   * @param buyPercent - share of buy instructions, in percent
+   * @return this generator.
+   */
+  public InstructionGenerator buyPercent(final int buyPercent) {
+    this.buyPercent = percent(buyPercent);
+    return this;
+  }
+
+  /**
+   * This method sets the share of instructions in AED or SAR, 10 percent by default.
+   *
+   * @param fridaySaturdayPercent - share of instructions in AED or SAR, in percent
+   * @return this generator.
+   */
+  public InstructionGenerator fridaySaturdayPercent(final int fridaySaturdayPercent) {
+    this.fridaySaturdayPercent = percent(fridaySaturdayPercent);
+    return this;
+  }
+
+  /**
+   * This method sets the share of instructions instructed to settle on a weekend day of their
+   * currency, 30 percent by default.
+   *
+   * @param weekendSettlementPercent - share of instructions settling on a weekend, in percent
+   * @return this generator.
+   */
+  public InstructionGenerator weekendSettlementPercent(final int weekendSettlementPercent) {
+    this.weekendSettlementPercent = percent(weekendSettlementPercent);
+    return this;
+  }
+
+  /**
+   * This method sets the range of instruction dates, 250 days from 1 January 2016 by default.
+   *
+   * @param firstInstructionDate - earliest instruction date
+   * @param instructionDays      - number of days instructions are spread over
+   * @return this generator.
+   */
+  public InstructionGenerator instructionDates(final LocalDate firstInstructionDate,
+      final int instructionDays) {
+    Objects.requireNonNull(firstInstructionDate, "First instruction date should be provided.");
+    if (instructionDays < 1) {
+      throw new IllegalArgumentException("Number of instruction days should be positive.");
+    }
+    this.firstInstructionDate = firstInstructionDate;
+    this.instructionDays = instructionDays;
+    return this;
+  }
+
+  private static int percent(final int percent) {
+    if (percent < 0 || percent > 100) {
+      throw new IllegalArgumentException("Percentage should be between 0 and 100.");
+    }
+    return percent;
+  }
+
+  /**
+   * This method generates the given number of instructions and passes each of them to the
+   * consumer as it is created, so any number can be generated in constant memory.
+   *
+   * @param count    - number of instructions to generate
+   * @param consumer - receiver of the generated instructions
+   */
+  public void generate(final long count, final Consumer<? super TradeInstruction> consumer) {
+    Objects.requireNonNull(consumer, "Consumer should be provided.");
+    final Sampler sampler = new Sampler();
+    for (long i = 0; i < count; i++) {
+      sampler.next();
+      consumer.accept(new TradeInstruction(sampler.entityName(), sampler.instructionType(),
+          sampler.agreedFx(), sampler.currency, sampler.instructionDate(),
+          sampler.settlementDate(), sampler.numberOfUnits, sampler.pricePerUnit()));
+    }
+  }
+
+  /**
+   * This method writes the given number of instructions to a comma separated file in the format
+   * read by the trade instruction readers. The file holds the same instructions as
+   * {@link #generate(long, Consumer)}.
+   *
+   * @param path  - path of the instruction file
+   * @param count - number of instructions to write
+   * @throws IOException if the file cannot be written
+   */
+  public void write(final Path path, final long count) throws IOException {
+    Objects.requireNonNull(path, "Path should be provided.");
+    final Sampler sampler = new Sampler();
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writer.write("# entity,type,fx,currency,instructionDate,settlementDate,units,price");
+      writer.newLine();
+      for (long i = 0; i < count; i++) {
+        sampler.next();
+        writer.write(sampler.entityName());
+        writer.write(',');
+        writer.write(sampler.instructionType() == InstructionType.BUY ? 'B' : 'S');
+        writer.write(',');
+        writer.write(Double.toString(sampler.agreedFx()));
+        writer.write(',');
+        writer.write(sampler.currency);
+        writer.write(',');
+        writer.write(sampler.formattedDate(sampler.instructionDay));
+        writer.write(',');
+        writer.write(sampler.formattedDate(sampler.settlementDay));
+        writer.write(',');
+        writer.write(Integer.toString(sampler.numberOfUnits));
+        writer.write(',');
+        writer.write(Double.toString(sampler.pricePerUnit()));
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Random state of one run of the generator, with the values of the instruction drawn last.
+   */
+  private final class Sampler {
+
+    private final SplittableRandom random = new SplittableRandom(seed);
+    private final double[] entityDistribution = new double[entities];
+    private final String[] entityNames = new String[entities];
+    private final int currencyWeight = Arrays.stream(CURRENCY_WEIGHTS).sum();
+    // Dates are formatted once; settlement dates run up to a week past the last instruction date.
+    private final String[] formattedDates =
+        new String[instructionDays + SETTLEMENT_LAG_DAYS + WEEK_DAYS];
+
+    private int entity;
+    private boolean buy;
+    private int agreedFxTenThousandths;
+    private String currency;
+    private int instructionDay;
+    private int settlementDay;
+    private int numberOfUnits;
+    private int priceCents;
+
+    private Sampler() {
+      double total = 0;
+      for (int i = 0; i < entities; i++) {
+        total += 1 / Math.pow(i + 1, entitySkew);
+        entityDistribution[i] = total;
+      }
+      for (int i = 0; i < entities; i++) {
+        entityDistribution[i] /= total;
+      }
+    }
+
+    private void next() {
+      final int position = Arrays.binarySearch(entityDistribution, random.nextDouble());
+      entity = Math.min(position < 0 ? -position - 1 : position, entities - 1);
+      buy = random.nextInt(100) < buyPercent;
+      final boolean fridaySaturday = random.nextInt(100) < fridaySaturdayPercent;
+      currency = fridaySaturday
+          ? FRIDAY_SATURDAY_CURRENCIES[random.nextInt(FRIDAY_SATURDAY_CURRENCIES.length)]
+          : weightedCurrency(random.nextInt(currencyWeight));
+      agreedFxTenThousandths = 100 + random.nextInt(19_900);
+      instructionDay = random.nextInt(instructionDays);
+      settlementDay = random.nextInt(100) < weekendSettlementPercent
+          ? nextWeekendDay(instructionDay, fridaySaturday)
+          : instructionDay + random.nextInt(SETTLEMENT_LAG_DAYS);
+      numberOfUnits = 1 + random.nextInt(1000);
+      priceCents = 100 + random.nextInt(50_000);
+    }
+
+    private String weightedCurrency(int weight) {
+      for (int i = 0; i < CURRENCIES.length; i++) {
+        weight -= CURRENCY_WEIGHTS[i];
+        if (weight < 0) {
+          return CURRENCIES[i];
+        }
+      }
+      return CURRENCIES[CURRENCIES.length - 1];
+    }
+
+    private int nextWeekendDay(final int day, final boolean fridaySaturday) {
+      final DayOfWeek first = fridaySaturday ? DayOfWeek.FRIDAY : DayOfWeek.SATURDAY;
+      final int weekendDay = first.getValue() - 1 + random.nextInt(2);
+      final int dayOfWeek = firstInstructionDate.plusDays(day).getDayOfWeek().getValue() - 1;
+      return day + Math.floorMod(weekendDay - dayOfWeek, WEEK_DAYS);
+    }
+
+    private String entityName() {
+      if (entityNames[entity] == null) {
+        entityNames[entity] = "entity" + entity;
+      }
+      return entityNames[entity];
+    }
+
+    private InstructionType instructionType() {
+      return buy ? InstructionType.BUY : InstructionType.SELL;
+    }
+
+    private double agreedFx() {
+      return agreedFxTenThousandths / 10_000.0;
+    }
+
+    private double pricePerUnit() {
+      return priceCents / 100.0;
+    }
+
+    private LocalDate instructionDate() {
+      return firstInstructionDate.plusDays(instructionDay);
+    }
+
+    private LocalDate settlementDate() {
+      return firstInstructionDate.plusDays(settlementDay);
+    }
+
+    private String formattedDate(final int day) {
+      if (formattedDates[day] == null) {
+        formattedDates[day] = firstInstructionDate.plusDays(day).format(dateFormatter);
+      }
+      return formattedDates[day];
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package trade.report.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class encodes strings such as entity names and currencies as dense int ids. Ids are assigned
+ * in order of first appearance and stay stable for the lifetime of the dictionary.
+ */
+public final class StringDictionary {
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  /**
+   * This method returns the id of the given value, assigning the next free id the first time the
+   * value is seen.
+   *
+   * @param value - value to encode
+   * @return dense id of the value.
+   */
+  public int encode(final String value) {
+    Objects.requireNonNull(value, "Value should be provided.");
+    final Integer id = ids.get(value);
+    if (id != null) {
+      return id;
+    }
+    final int newId = values.size();
+    ids.put(value, newId);
+    values.add(value);
+    return newId;
+  }
+
+  /**
+   * This method returns the id of the given value without assigning one.
+   *
+   * @param value - value to look up
+   * @return id of the value, or -1 if it has not been encoded.
+   */
+  public int find(final String value) {
+    final Integer id = ids.get(value);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * @param id - id returned by {@link #encode(String)}
+   * @return value encoded with the given id.
+   */
+  public String decode(final int id) {
+    return values.get(id);
+  }
+
+  /**
+   * @return number of distinct values encoded so far.
+   */
+  public int size() {
+    return values.size();
+  }
+}
@@ -0,0 +1,85 @@
+package trade.report.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import trade.report.enums.WeekendConvention;
+
+/**
+ * This class maps the entity names and currencies seen at ingest to dense int ids that stay stable
+ * for the lifetime of the table, so one table shared by the parsers and batches of a run gives the
+ * same ids everywhere. Currency metadata is attached to the currency id, so the weekend convention
+ * of a currency is resolved once instead of once per instruction. A table is not thread safe.
+ */
+public final class SymbolTable {
+
+  private final StringDictionary entityNames;
+  private final StringDictionary currencies;
+  private WeekendConvention[] weekendConventions = new WeekendConvention[16];
+
+  public SymbolTable() {
+    this(new StringDictionary(), new StringDictionary());
+  }
+
+  /**
+   * @param entityNames dictionary used to encode entity names
+   * @param currencies  dictionary used to encode currencies
+   */
+  public SymbolTable(final StringDictionary entityNames, final StringDictionary currencies) {
+    Objects.requireNonNull(entityNames, "Entity dictionary should be provided.");
+    Objects.requireNonNull(currencies, "Currency dictionary should be provided.");
+    this.entityNames = entityNames;
+    this.currencies = currencies;
+  }
+
+  /**
+   * @param entityName - name of the entity
+   * @return id of the entity, assigned the first time it is seen.
+   */
+  public int encodeEntity(final String entityName) {
+    return entityNames.encode(entityName);
+  }
+
+  /**
+   * @param currency - currency code
+   * @return id of the currency, assigned the first time it is seen.
+   */
+  public int encodeCurrency(final String currency) {
+    return currencies.encode(currency);
+  }
+
+  public String getEntityName(final int entityId) {
+    return entityNames.decode(entityId);
+  }
+
+  public String getCurrency(final int currencyId) {
+    return currencies.decode(currencyId);
+  }
+
+  /**
+   * This method returns the weekend convention of a currency, resolving it from the currency code
+   * only the first time the id is looked up.
+   *
+   * @param currencyId - id returned by {@link #encodeCurrency(String)}
+   * @return weekend convention of the currency.
+   */
+  public WeekendConvention getWeekendConvention(final int currencyId) {
+    if (currencyId >= weekendConventions.length) {
+      weekendConventions = Arrays.copyOf(weekendConventions,
+          Math.max(currencyId + 1, weekendConventions.length * 2));
+    }
+    WeekendConvention convention = weekendConventions[currencyId];
+    if (convention == null) {
+      convention = WeekendConvention.forCurrency(currencies.decode(currencyId));
+      weekendConventions[currencyId] = convention;
+    }
+    return convention;
+  }
+
+  public StringDictionary getEntityNames() {
+    return entityNames;
+  }
+
+  public StringDictionary getCurrencies() {
+    return currencies;
+  }
+}
@@ -0,0 +1,112 @@
+package trade.report.util;
+
+/**
+ * This class selects the highest amounts out of a set of totals with a bounded min-heap, so ranking
+ * the top N of M totals takes O(M log N) time and O(N) extra space instead of a full sort.
+ */
+public final class TopKSelector {
+
+  /**
+   * This method selects the positions of the highest amounts in descending order of amount.
+   * Positions with equal amounts are ranked in ascending order of position.
+   *
+   * @param amounts - amounts to rank
+   * @param count   - number of leading amounts to consider
+   * @param limit   - largest number of positions to return
+   * @return positions of the top amounts in ranking order.
+   */
+  public static int[] select(final double[] amounts, final int count, final int limit) {
+    return select(count, limit, (a, b) -> {
+      final int comparison = Double.compare(amounts[a], amounts[b]);
+      return comparison < 0 || (comparison == 0 && a > b);
+    });
+  }
+
+  /**
+   * This method selects the positions of the highest fixed-point amounts in descending order of
+   * amount. Positions with equal amounts are ranked in ascending order of position.
+   *
+   * @param amounts - amounts to rank
+   * @param count   - number of leading amounts to consider
+   * @param limit   - largest number of positions to return
+   * @return positions of the top amounts in ranking order.
+   */
+  public static int[] select(final long[] amounts, final int count, final int limit) {
+    return select(count, limit,
+        (a, b) -> amounts[a] < amounts[b] || (amounts[a] == amounts[b] && a > b));
+  }
+
+  private static int[] select(final int count, final int limit, final Order order) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Ranking limit should not be negative.");
+    }
+    final int[] heap = new int[Math.min(count, limit)];
+    int size = 0;
+    for (int position = 0; position < count; position++) {
+      if (size < heap.length) {
+        heap[size] = position;
+        siftUp(heap, size++, order);
+      } else if (size > 0 && order.ranksBelow(heap[0], position)) {
+        heap[0] = position;
+        siftDown(heap, size, order);
+      }
+    }
+
+    // Repeatedly moving the lowest ranked position to the end leaves the heap in ranking order.
+    for (int end = size - 1; end > 0; end--) {
+      final int lowest = heap[0];
+      heap[0] = heap[end];
+      heap[end] = lowest;
+      siftDown(heap, end, order);
+    }
+    return heap;
+  }
+
+  private static void siftUp(final int[] heap, int index, final Order order) {
+    final int position = heap[index];
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (!order.ranksBelow(position, heap[parent])) {
+        break;
+      }
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = position;
+  }
+
+  private static void siftDown(final int[] heap, final int size, final Order order) {
+    final int position = heap[0];
+    int index = 0;
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && order.ranksBelow(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!order.ranksBelow(heap[child], position)) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = position;
+  }
+
+  /**
+   * Ranking order of positions.
+   */
+  @FunctionalInterface
+  private interface Order {
+
+    /**
+     * @return true when position {@code a} ranks below position {@code b}.
+     */
+    boolean ranksBelow(int a, int b);
+  }
+
+  private TopKSelector() {
+  }
+}
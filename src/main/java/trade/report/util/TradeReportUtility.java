@@ -1,16 +1,22 @@
 package trade.report.util;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.reducing;
 import static java.util.stream.Collectors.summingDouble;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.PipelineMetrics.Span;
 import trade.report.model.TradeInstruction;
 
 /**
@@ -32,10 +38,13 @@ public final class TradeReportUtility {
   public static Map<LocalDate, Double> calculateUSDSettlements(
       final List<TradeInstruction> tradeInstructions, final InstructionType instructionType) {
     Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
-    return tradeInstructions.stream()
-        .filter(trade -> instructionType.equals(trade.getInstructionType()))
-        .collect(groupingBy(TradeInstruction::getActualSettlementDate,
-            summingDouble(TradeInstruction::calculateUSDAmount)));
+    try (Span span = PipelineMetrics.span(PipelineStage.AGGREGATION)) {
+      span.items(tradeInstructions.size());
+      return tradeInstructions.stream()
+          .filter(trade -> instructionType.equals(trade.getInstructionType()))
+          .collect(groupingBy(TradeInstruction::getActualSettlementDate,
+              summingDouble(TradeInstruction::calculateUSDAmount)));
+    }
   }
 
   /**
@@ -50,11 +59,65 @@ public final class TradeReportUtility {
   public static List<Map.Entry<String, Double>> calculateRankings(
       final List<TradeInstruction> tradeInstructions, final InstructionType instructionType) {
     Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
-    return tradeInstructions.stream()
-        .filter(trade -> instructionType.equals(trade.getInstructionType()))
-        .sorted(Comparator.comparingDouble(TradeInstruction::calculateUSDAmount).reversed())
-        .map(t -> Map.entry(t.getEntityName(), t.calculateUSDAmount()))
-        .collect(Collectors.toList());
+    try (Span span = PipelineMetrics.span(PipelineStage.RANKING)) {
+      span.items(tradeInstructions.size());
+      return tradeInstructions.stream()
+          .filter(trade -> instructionType.equals(trade.getInstructionType()))
+          .sorted(Comparator.comparingDouble(TradeInstruction::calculateUSDAmount).reversed())
+          .map(t -> Map.entry(t.getEntityName(), t.calculateUSDAmount()))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * This method calculates the top entities based on incoming or outgoing amounts. It filters trade
+   * instructions by type, sums the USD amounts per entity so that each entity appears once, and
+   * selects the entities with the highest totals without sorting all of them.
+   *
+   * @param tradeInstructions - a list of trade instructions
+   * @param instructionType   - type of instruction (incoming or outgoing)
+   * @param limit             - largest number of entities to return
+   * @return entity names and USD totals in descending order of amount.
+   */
+  public static List<Map.Entry<String, Double>> calculateTopRankings(
+      final List<TradeInstruction> tradeInstructions, final InstructionType instructionType,
+      final int limit) {
+    Objects.requireNonNull(tradeInstructions, "Trade instructions should not be null.");
+    try (Span span = PipelineMetrics.span(PipelineStage.RANKING)) {
+      span.items(tradeInstructions.size());
+      final Map<String, Long> entityTotals = tradeInstructions.stream()
+          .filter(trade -> instructionType.equals(trade.getInstructionType()))
+          .collect(groupingBy(TradeInstruction::getEntityName, LinkedHashMap::new,
+              reducing(0L, TradeInstruction::calculateScaledUSDAmount, Math::addExact)));
+      return rankEntityTotals(entityTotals, limit);
+    }
+  }
+
+  /**
+   * This method ranks fixed-point USD totals per entity in descending order of amount, keeping at
+   * most the given number of entities. Entities with equal totals keep the iteration order of the
+   * map.
+   *
+   * @param entityTotals - USD total for each entity, scaled by {@link FixedPoint#SCALE}
+   * @param limit        - largest number of entities to return
+   * @return entity names and USD totals in descending order of amount.
+   */
+  public static List<Map.Entry<String, Double>> rankEntityTotals(
+      final Map<String, Long> entityTotals, final int limit) {
+    final String[] entityNames = new String[entityTotals.size()];
+    final long[] amounts = new long[entityTotals.size()];
+    int index = 0;
+    for (final Map.Entry<String, Long> entry : entityTotals.entrySet()) {
+      entityNames[index] = entry.getKey();
+      amounts[index++] = entry.getValue();
+    }
+
+    final int[] positions = TopKSelector.select(amounts, amounts.length, limit);
+    final List<Map.Entry<String, Double>> rankings = new ArrayList<>(positions.length);
+    for (final int position : positions) {
+      rankings.add(Map.entry(entityNames[position], FixedPoint.toDouble(amounts[position])));
+    }
+    return rankings;
   }
 
   /**
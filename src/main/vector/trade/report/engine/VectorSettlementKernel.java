@@ -0,0 +1,100 @@
+package trade.report.engine;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import trade.report.model.InstructionBatch;
+
+/**
+ * Settlement kernel summing eight instructions at a time with 512-bit vectors. The slot of each
+ * lane is worked out from the type and settlement day columns, and every lane adds its USD amount
+ * into its own copy of the slot, so no two lanes of a scatter write to the same element. The
+ * copies are added up once at the end.
+ *
+ * <p>Batches with more days than fit the lane copies, or with a sum that overflows, are left to
+ * the scalar kernel, which gives the exact result or throws.
+ */
+final class VectorSettlementKernel implements SettlementKernel {
+
+  private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_512;
+  private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_256;
+  private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+  private static final int LANES = LONGS.length();
+
+  /**
+   * Largest number of lane copies, 8 MB of sums, accumulated by the kernel.
+   */
+  private static final long MAX_LANE_SLOTS = 1 << 20;
+
+  /**
+   * @return whether the hardware runs 512-bit vector operations natively.
+   */
+  static boolean isSupported() {
+    return LongVector.SPECIES_PREFERRED.vectorBitSize() >= LONGS.vectorBitSize();
+  }
+
+  @Override
+  public boolean sumByTypeAndDay(final InstructionBatch batch, final int minDay, final int days,
+      final long[] sums) {
+    final int slots = sums.length;
+    if ((long) slots * LANES > MAX_LANE_SLOTS) {
+      return false;
+    }
+    final int size = batch.size();
+    final byte[] types = batch.instructionTypes();
+    final int[] epochDays = batch.actualSettlementEpochDays();
+    final long[] usdAmounts = batch.scaledUSDAmounts();
+
+    final long[] laneSums = new long[slots * LANES];
+    final int[] laneSlots = new int[LANES];
+    final IntVector lanes = IntVector.zero(INTS).addIndex(1);
+    final int bound = LONGS.loopBound(size);
+    for (int i = 0; i < bound; i += LANES) {
+      ((IntVector) ByteVector.fromArray(BYTES, types, i)
+          .convertShape(VectorOperators.B2I, INTS, 0))
+          .mul(days)
+          .add(IntVector.fromArray(INTS, epochDays, i))
+          .sub(minDay)
+          .mul(LANES)
+          .add(lanes)
+          .intoArray(laneSlots, 0);
+      final LongVector amount = LongVector.fromArray(LONGS, usdAmounts, i);
+      final LongVector before = LongVector.fromArray(LONGS, laneSums, 0, laneSlots, 0);
+      final LongVector after = before.add(amount);
+      if (before.lanewise(VectorOperators.XOR, after)
+          .and(amount.lanewise(VectorOperators.XOR, after)).lt(0).anyTrue()) {
+        return false;
+      }
+      after.intoArray(laneSums, 0, laneSlots, 0);
+    }
+    for (int i = bound; i < size; i++) {
+      final int laneSlot = (types[i] * days + epochDays[i] - minDay) * LANES;
+      final long after = laneSums[laneSlot] + usdAmounts[i];
+      if (overflows(laneSums[laneSlot], usdAmounts[i], after)) {
+        return false;
+      }
+      laneSums[laneSlot] = after;
+    }
+
+    final long[] totals = new long[slots];
+    for (int slot = 0; slot < slots; slot++) {
+      long total = sums[slot];
+      for (int laneSlot = slot * LANES; laneSlot < (slot + 1) * LANES; laneSlot++) {
+        final long after = total + laneSums[laneSlot];
+        if (overflows(total, laneSums[laneSlot], after)) {
+          return false;
+        }
+        total = after;
+      }
+      totals[slot] = total;
+    }
+    System.arraycopy(totals, 0, sums, 0, slots);
+    return true;
+  }
+
+  private static boolean overflows(final long a, final long b, final long sum) {
+    return ((a ^ sum) & (b ^ sum)) < 0;
+  }
+}
@@ -0,0 +1,46 @@
+package trade.report.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HolidayFileLoaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should load holidays grouped by currency.")
+  public void testLoad() throws IOException {
+    final Path file = tempDir.resolve("holidays.csv");
+    Files.write(file, List.of("# currency,date", "USD,04 Jul 2016", "", "AED, 02 Dec 2016",
+        "USD,25 Dec 2016"));
+
+    assertThat(HolidayFileLoader.load(file))
+        .hasSize(2)
+        .containsEntry("AED", Set.of(LocalDate.of(2016, 12, 2)))
+        .containsEntry("USD", Set.of(LocalDate.of(2016, 7, 4),
+            LocalDate.of(2016, 12, 25)));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception with line number when a date is invalid.")
+  public void testLoadWithInvalidDate() throws IOException {
+    final Path file = tempDir.resolve("holidays.csv");
+    Files.write(file, List.of("USD,04 Jul 2016", "USD,2016-07-05"));
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> HolidayFileLoader.load(file))
+        .withMessageContaining("Invalid holiday at line 2");
+  }
+}
@@ -0,0 +1,81 @@
+package trade.report.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TableSettlementCalendarTest {
+
+  /**
+   * Reference roll-forward over the weekends of the currency, worked out with java.time.
+   */
+  static LocalDate rollForward(LocalDate date, final String currency) {
+    final boolean fridaySaturday = "AED".equals(currency) || "SAR".equals(currency);
+    while (fridaySaturday
+        ? date.getDayOfWeek() == DayOfWeek.FRIDAY || date.getDayOfWeek() == DayOfWeek.SATURDAY
+        : date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+      date = date.plusDays(1);
+    }
+    return date;
+  }
+
+  @Test
+  @DisplayName("Should resolve weekend settlement days inside and outside the horizon.")
+  public void testMatchesWeekendCalendar() {
+    final TableSettlementCalendar calendar = new TableSettlementCalendar(
+        LocalDate.of(2016, 1, 1), LocalDate.of(2016, 12, 31));
+
+    for (LocalDate date = LocalDate.of(2015, 12, 1); date.getYear() < 2018;
+        date = date.plusDays(1)) {
+      for (final String currency : new String[]{"USD", "SGP", "AED", "SAR"}) {
+        assertThat(calendar.actualSettlementDate(date, currency))
+            .as(date + " " + currency)
+            .isEqualTo(rollForward(date, currency));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should move settlements off holidays and the following weekend.")
+  public void testHolidays() {
+    // Friday 08 Jan 2016 is a USD holiday, so it settles on Monday 11 Jan 2016.
+    // Sunday 10 Jan 2016 is an AED holiday, so Friday 08 Jan 2016 settles on Monday as well.
+    final TableSettlementCalendar calendar = TableSettlementCalendar.forHolidays(Map.of(
+        "USD", Set.of(LocalDate.of(2016, 1, 8)),
+        "AED", Set.of(LocalDate.of(2016, 1, 10))));
+
+    assertThat(calendar.actualSettlementDate(LocalDate.of(2016, 1, 8), "USD"))
+        .isEqualTo(LocalDate.of(2016, 1, 11));
+    assertThat(calendar.actualSettlementDate(LocalDate.of(2016, 1, 8), "AED"))
+        .isEqualTo(LocalDate.of(2016, 1, 11));
+    assertThat(calendar.actualSettlementDate(LocalDate.of(2016, 1, 8), "SGP"))
+        .isEqualTo(LocalDate.of(2016, 1, 8));
+  }
+
+  @Test
+  @DisplayName("Should resolve holidays outside the horizon by rolling forward.")
+  public void testHolidaysOutsideHorizon() {
+    final TableSettlementCalendar calendar = new TableSettlementCalendar(
+        LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 31),
+        Map.of("USD", Set.of(LocalDate.of(2017, 3, 3))));
+
+    assertThat(calendar.actualSettlementDate(LocalDate.of(2017, 3, 3), "USD"))
+        .isEqualTo(LocalDate.of(2017, 3, 6));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when horizon end is before its start.")
+  public void testInvalidHorizon() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new TableSettlementCalendar(LocalDate.of(2016, 2, 1),
+            LocalDate.of(2016, 1, 1)))
+        .withMessageContaining("Horizon end should not be before horizon start.");
+  }
+}
@@ -0,0 +1,33 @@
+package trade.report.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.util.SymbolTable;
+
+class WeekendSettlementCalendarTest {
+
+  @Test
+  @DisplayName("Should roll settlements off the weekend at both ends of the precomputed years.")
+  public void testAroundPrecomputedYears() {
+    final SymbolTable symbolTable = new SymbolTable();
+    for (final LocalDate start : new LocalDate[]{
+        LocalDate.of(WeekendSettlementCalendar.FIRST_YEAR - 1, 12, 1),
+        LocalDate.of(WeekendSettlementCalendar.LAST_YEAR, 12, 1)}) {
+      for (LocalDate date = start; date.isBefore(start.plusMonths(2)); date = date.plusDays(1)) {
+        for (final String currency : new String[]{"USD", "SGP", "AED", "SAR"}) {
+          final LocalDate expected = TableSettlementCalendarTest.rollForward(date, currency);
+          assertThat(WeekendSettlementCalendar.INSTANCE.actualSettlementDate(date, currency))
+              .as(date + " " + currency)
+              .isEqualTo(expected);
+          assertThat(WeekendSettlementCalendar.INSTANCE.actualSettlementEpochDay(
+              date.toEpochDay(), symbolTable.encodeCurrency(currency), symbolTable))
+              .as(date + " " + currency)
+              .isEqualTo(expected.toEpochDay());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.EntityTotals;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementTotals;
+import trade.report.model.TradeInstruction;
+import trade.report.util.InstructionGenerator;
+import trade.report.util.TradeReportUtility;
+
+class BatchAggregatorTest {
+
+  @Test
+  @DisplayName("Should throw Null pointer exception when instruction batch is null.")
+  public void testCalculateUSDSettlements_withNullBatch() {
+    assertThatExceptionOfType(NullPointerException.class)
+        .as("Null pointer Exception is thrown.")
+        .isThrownBy(() -> BatchAggregator.calculateUSDSettlements(null, InstructionType.BUY))
+        .withMessageContaining("Instruction batch should not be null.");
+  }
+
+  @Test
+  @DisplayName("Should return empty totals when the batch is empty.")
+  public void testCalculateUSDSettlements_withEmptyBatch() {
+    final InstructionBatch batch = new InstructionBatch();
+    assertThat(BatchAggregator.calculateUSDSettlements(batch, InstructionType.BUY).size())
+        .isZero();
+    assertThat(BatchAggregator.calculateRankings(batch, InstructionType.BUY).size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should return the same settlements as the utility method ordered by date.")
+  public void testCalculateUSDSettlements_matchesUtilityMethod() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final InstructionBatch batch = InstructionBatch.of(tradeInstructions);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final SettlementTotals totals = BatchAggregator.calculateUSDSettlements(batch,
+          instructionType);
+      assertThat(totals.toMap())
+          .isEqualTo(TradeReportUtility.calculateUSDSettlements(tradeInstructions, instructionType));
+      for (int i = 1; i < totals.size(); i++) {
+        assertThat(totals.getEpochDay(i)).isGreaterThan(totals.getEpochDay(i - 1));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should return the settlements of every type in one pass as the utility method does.")
+  public void testCalculateUSDSettlements_forAllTypes() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final InstructionBatch batch = InstructionBatch.of(tradeInstructions);
+
+    final Map<InstructionType, SettlementTotals> settlements =
+        BatchAggregator.calculateUSDSettlements(batch);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(settlements.get(instructionType).toMap())
+          .isEqualTo(TradeReportUtility.calculateUSDSettlements(tradeInstructions, instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return the same settlements on the selected kernel as for each type of a generated book.")
+  public void testCalculateUSDSettlements_forAllTypesOfGeneratedBook() {
+    final InstructionBatch batch = new InstructionBatch();
+    new InstructionGenerator(42).entities(50).generate(10_003, batch::add);
+
+    final Map<InstructionType, SettlementTotals> settlements =
+        BatchAggregator.calculateUSDSettlements(batch);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(settlements.get(instructionType).toMap())
+          .isEqualTo(BatchAggregator.calculateUSDSettlements(batch, instructionType).toMap());
+    }
+  }
+
+  @Test
+  @DisplayName("Should sum settlements correctly when dates are too far apart for a dense array.")
+  public void testCalculateUSDSettlements_withWideDateSpan() {
+    final InstructionBatch batch = new InstructionBatch();
+    final int farDay = (int) LocalDate.of(9999, 1, 1).toEpochDay();
+    final int nearDay = (int) LocalDate.of(-9999, 1, 1).toEpochDay();
+    batch.add(InstructionType.SELL, "foo", "USD", 1.0, 10, 1.5, farDay);
+    batch.add(InstructionType.SELL, "bar", "USD", 1.0, 10, 2.0, nearDay);
+    batch.add(InstructionType.SELL, "foo", "USD", 1.0, 10, 0.5, farDay);
+
+    final SettlementTotals totals = BatchAggregator.calculateUSDSettlements(batch,
+        InstructionType.SELL);
+
+    assertThat(totals.toMap()).containsExactly(entry(LocalDate.ofEpochDay(nearDay), 20.0),
+        entry(LocalDate.ofEpochDay(farDay), 20.0));
+  }
+
+  @Test
+  @DisplayName("Should rank entities by total USD amount with one entry per entity.")
+  public void testCalculateRankings_aggregatesPerEntity() {
+    final InstructionBatch batch = new InstructionBatch();
+    batch.add(InstructionType.BUY, "foo", "USD", 1.0, 10, 1.0, 0);
+    batch.add(InstructionType.BUY, "bar", "USD", 1.0, 15, 1.0, 0);
+    batch.add(InstructionType.SELL, "zoo", "USD", 1.0, 100, 1.0, 0);
+    batch.add(InstructionType.BUY, "foo", "USD", 1.0, 10, 1.0, 1);
+    batch.add(InstructionType.BUY, "moo", "USD", 1.0, 15, 1.0, 1);
+
+    final EntityTotals rankings = BatchAggregator.calculateRankings(batch, InstructionType.BUY);
+
+    assertThat(rankings.toEntries())
+        .containsExactly(entry("foo", 20.0), entry("bar", 15.0), entry("moo", 15.0));
+  }
+
+  @Test
+  @DisplayName("Should return the same rankings as the utility method for the sample instructions.")
+  public void testCalculateRankings_matchesUtilityMethod() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final InstructionBatch batch = InstructionBatch.of(tradeInstructions);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(BatchAggregator.calculateRankings(batch, instructionType).toEntries())
+          .containsExactlyElementsOf(
+              TradeReportUtility.calculateRankings(tradeInstructions, instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return only the top entities when a ranking limit is given.")
+  public void testCalculateTopRankings() {
+    final InstructionBatch batch = new InstructionBatch();
+    for (int i = 0; i < 100; i++) {
+      batch.add(InstructionType.BUY, "entity" + (i % 20), "USD", 1.0, i, 1.0, 0);
+    }
+
+    final EntityTotals rankings = BatchAggregator.calculateTopRankings(batch, InstructionType.BUY,
+        3);
+
+    assertThat(rankings.toEntries()).containsExactly(entry("entity19", 295.0),
+        entry("entity18", 290.0), entry("entity17", 285.0));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class BatchReportCacheTest {
+
+  private static final int MONDAY = Math.toIntExact(LocalDate.of(2016, 1, 4).toEpochDay());
+
+  @Test
+  @DisplayName("Should reuse the totals of unchanged batches and match a full aggregation.")
+  public void testReport() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final InstructionBatch first = InstructionBatch.of(tradeInstructions.subList(0, 3));
+    final InstructionBatch second =
+        InstructionBatch.of(tradeInstructions.subList(3, tradeInstructions.size()));
+    final BatchReportCache cache = new BatchReportCache(4);
+
+    final SettlementReport expected = ReportAggregator.aggregate(tradeInstructions);
+    cache.report(List.of(first, second));
+    final SettlementReport report = cache.report(List.of(first, second));
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(report.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should aggregate a batch again after an exchange rate is corrected.")
+  public void testReport_afterFxCorrection() {
+    final InstructionBatch batch = new InstructionBatch();
+    batch.add(InstructionType.SELL, "foo", "USD", 1.0, 10, 1.0, MONDAY);
+    batch.add(InstructionType.SELL, "bar", "EUR", 1.0, 10, 1.0, MONDAY);
+    final BatchReportCache cache = new BatchReportCache(1);
+    cache.report(List.of(batch));
+
+    assertThat(batch.correctAgreedFx(batch.getCurrencies().find("EUR"), MONDAY, 2.0))
+        .isEqualTo(1);
+    assertThat(cache.report(List.of(batch)).getRankings(InstructionType.SELL))
+        .containsExactly(entry("bar", 20.0), entry("foo", 10.0));
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should evict the batch used least recently when the cache is full.")
+  public void testEviction() {
+    final InstructionBatch first = new InstructionBatch();
+    first.add(InstructionType.BUY, "foo", "USD", 1.0, 1, 1.0, MONDAY);
+    final InstructionBatch second = new InstructionBatch();
+    second.add(InstructionType.BUY, "bar", "USD", 1.0, 1, 1.0, MONDAY);
+    final BatchReportCache cache = new BatchReportCache(1);
+
+    cache.report(List.of(first));
+    cache.report(List.of(second));
+    cache.report(List.of(first));
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(3);
+    assertThat(cache.getHitCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when the maximum number of batches is not positive.")
+  public void testInvalidMaximumBatches() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new BatchReportCache(0))
+        .withMessage("Maximum number of batches should be positive.");
+  }
+}
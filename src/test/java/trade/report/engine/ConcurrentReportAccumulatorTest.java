@@ -0,0 +1,81 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+class ConcurrentReportAccumulatorTest {
+
+  private static TradeInstruction instruction(final int i) {
+    final String settlementDate = String.format("%02d Jan 2016", 4 + i % 5);
+    return new TradeInstruction("entity" + i % 7, i % 2 == 0 ? "B" : "S", 1.0, "USD",
+        "01 Jan 2016", settlementDate, 1 + i % 10, 2.0);
+  }
+
+  @Test
+  @DisplayName("Should match a sequential aggregation when fed by many producer threads.")
+  public void testConcurrentProducers() throws Exception {
+    final int producers = 8;
+    final int perProducer = 5_000;
+    final ConcurrentReportAccumulator accumulator = new ConcurrentReportAccumulator(4);
+    final ReportAggregator expected = new ReportAggregator();
+    for (int i = 0; i < producers * perProducer; i++) {
+      expected.add(instruction(i));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(producers);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> futures = new ArrayList<>();
+    try {
+      for (int p = 0; p < producers; p++) {
+        final int offset = p * perProducer;
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < perProducer; i++) {
+            accumulator.add(instruction(offset + i));
+            if (i % 1000 == 0) {
+              accumulator.snapshot();
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final SettlementReport report = accumulator.snapshot();
+    final SettlementReport expectedReport = expected.toReport();
+    assertThat(accumulator.getInstructionCount()).isEqualTo(producers * perProducer);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .isEqualTo(expectedReport.getSettlements(instructionType));
+      assertThat(report.getRankings(instructionType))
+          .containsExactlyInAnyOrderElementsOf(expectedReport.getRankings(instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when number of stripes is not positive.")
+  public void testInvalidStripes() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new ConcurrentReportAccumulator(0))
+        .withMessageContaining("Number of stripes should be positive.");
+  }
+}
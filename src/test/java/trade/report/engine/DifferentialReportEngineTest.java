@@ -0,0 +1,139 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionEvent;
+import trade.report.model.ReportDelta;
+import trade.report.model.ReportDelta.EntityChange;
+import trade.report.model.ReportDelta.SettlementChange;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class DifferentialReportEngineTest {
+
+  private static TradeInstruction sell(final String entityName, final String settlementDate,
+      final int numberOfUnits) {
+    return sell(entityName, settlementDate, numberOfUnits, 1.0);
+  }
+
+  private static TradeInstruction sell(final String entityName, final String settlementDate,
+      final int numberOfUnits, final double pricePerUnit) {
+    return new TradeInstruction(entityName, "S", 1.0, "USD", "04 Jan 2016", settlementDate,
+        numberOfUnits, pricePerUnit);
+  }
+
+  @Test
+  @DisplayName("Should match a full aggregation after instructions are created, amended and cancelled.")
+  public void testApply_matchesFullAggregation() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final DifferentialReportEngine engine = new DifferentialReportEngine();
+    for (int i = 0; i < tradeInstructions.size(); i++) {
+      engine.apply(InstructionEvent.create("id" + i, 1, tradeInstructions.get(i)));
+    }
+    engine.apply(InstructionEvent.amend("id0", 2, tradeInstructions.get(1)));
+    engine.apply(InstructionEvent.cancel("id2", 2));
+
+    final List<TradeInstruction> remaining = new ArrayList<>(tradeInstructions);
+    remaining.set(0, tradeInstructions.get(1));
+    remaining.remove(2);
+    final SettlementReport full = ReportAggregator.aggregate(remaining);
+    final SettlementReport report = engine.snapshot();
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .isEqualTo(full.getSettlements(instructionType));
+      // Entities whose last instruction was retracted rank after entities with the same total.
+      assertThat(report.getRankings(instructionType))
+          .containsExactlyInAnyOrderElementsOf(full.getRankings(instructionType));
+    }
+    assertThat(engine.getInstructionCount()).isEqualTo(tradeInstructions.size() - 1);
+  }
+
+  @Test
+  @DisplayName("Should emit only the rows changed by an amendment.")
+  public void testApply_emitsChangedRows() {
+    final DifferentialReportEngine engine = new DifferentialReportEngine();
+    engine.apply(InstructionEvent.create("a", 1, sell("foo", "04 Jan 2016", 10)));
+    engine.apply(InstructionEvent.create("b", 1, sell("bar", "04 Jan 2016", 20)));
+
+    final ReportDelta delta =
+        engine.apply(InstructionEvent.amend("a", 2, sell("foo", "05 Jan 2016", 10)));
+
+    assertThat(delta.getSettlementChanges())
+        .extracting(SettlementChange::getSettlementDate, SettlementChange::getAmount,
+            SettlementChange::isRemoved)
+        .containsExactly(
+            tuple(LocalDate.of(2016, 1, 4), 20.0, false),
+            tuple(LocalDate.of(2016, 1, 5), 10.0, false));
+    assertThat(delta.getEntityChanges()).isEmpty();
+
+    final ReportDelta cancelled = engine.apply(InstructionEvent.cancel("a", 3));
+    assertThat(cancelled.getSettlementChanges()).singleElement()
+        .satisfies(change -> assertThat(change.isRemoved()).isTrue());
+    assertThat(cancelled.getEntityChanges()).extracting(EntityChange::getEntityName)
+        .containsExactly("foo");
+    assertThat(engine.snapshot().getRankings(InstructionType.SELL))
+        .containsExactly(entry("bar", 20.0));
+  }
+
+  @Test
+  @DisplayName("Should ignore events whose version has already been applied.")
+  public void testApply_ignoresStaleEvents() {
+    final DifferentialReportEngine engine = new DifferentialReportEngine();
+    engine.apply(InstructionEvent.create("a", 1, sell("foo", "04 Jan 2016", 10)));
+    engine.apply(InstructionEvent.amend("a", 3, sell("foo", "04 Jan 2016", 30)));
+
+    assertThat(engine.apply(InstructionEvent.amend("a", 2, sell("foo", "04 Jan 2016", 20)))
+        .isEmpty()).isTrue();
+    assertThat(engine.apply(InstructionEvent.create("a", 1, sell("foo", "04 Jan 2016", 10)))
+        .isEmpty()).isTrue();
+    assertThat(engine.snapshot().getRankings(InstructionType.SELL))
+        .containsExactly(entry("foo", 30.0));
+  }
+
+  @Test
+  @DisplayName("Should leave the report unchanged when an amendment overflows a total.")
+  public void testApply_withOverflowingAmendment() {
+    final DifferentialReportEngine engine = new DifferentialReportEngine();
+    engine.apply(InstructionEvent.create("a", 1, sell("foo", "04 Jan 2016", 5_000_000, 1.0e6)));
+    engine.apply(InstructionEvent.create("b", 1, sell("foo", "04 Jan 2016", 4_000_000, 1.0e6)));
+    final SettlementReport before = engine.snapshot();
+
+    assertThatExceptionOfType(ArithmeticException.class)
+        .as("Arithmetic Exception is thrown.")
+        .isThrownBy(() -> engine.apply(
+            InstructionEvent.amend("b", 2, sell("foo", "04 Jan 2016", 5_000_000, 1.0e6))));
+
+    final SettlementReport after = engine.snapshot();
+    assertThat(after.getSettlements(InstructionType.SELL))
+        .isEqualTo(before.getSettlements(InstructionType.SELL));
+    assertThat(after.getRankings(InstructionType.SELL))
+        .isEqualTo(before.getRankings(InstructionType.SELL));
+    assertThat(engine.getInstructionCount()).isEqualTo(2);
+
+    engine.apply(InstructionEvent.cancel("b", 2));
+    assertThat(engine.snapshot().getRankings(InstructionType.SELL))
+        .containsExactly(entry("foo", 5.0e12));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when an unknown instruction is amended.")
+  public void testApply_withUnknownInstruction() {
+    final DifferentialReportEngine engine = new DifferentialReportEngine();
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> engine.apply(InstructionEvent.cancel("a", 1)))
+        .withMessage("Instruction a is not known.");
+  }
+}
@@ -0,0 +1,66 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class IncrementalReportEngineTest {
+
+  @Test
+  @DisplayName("Should update the snapshot as instructions arrive one at a time.")
+  public void testAccept() {
+    final IncrementalReportEngine engine = new IncrementalReportEngine();
+    engine.accept(new TradeInstruction("foo", "B", 0.5, "SGP", "01 Jan 2016", "04 Jan 2016",
+        200, 100.5));
+    final SettlementReport first = engine.snapshot();
+
+    engine.accept(new TradeInstruction("bar", "B", 0.5, "SGP", "01 Jan 2016", "03 Jan 2016",
+        300, 100.5));
+    final SettlementReport second = engine.snapshot();
+
+    assertThat(first.getSettlements(InstructionType.BUY))
+        .containsExactly(entry(LocalDate.of(2016, 1, 4), 10050.00));
+    assertThat(second.getSettlements(InstructionType.BUY))
+        .containsExactly(entry(LocalDate.of(2016, 1, 4), 25125.00));
+    assertThat(second.getRankings(InstructionType.BUY))
+        .containsExactly(entry("bar", 15075.00), entry("foo", 10050.00));
+    assertThat(engine.getInstructionCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should return the cached snapshot while no instruction has arrived.")
+  public void testSnapshotIsCached() {
+    final IncrementalReportEngine engine = new IncrementalReportEngine();
+    engine.acceptAll(TradeReportUtility.getTradeInstructions());
+
+    assertThat(engine.snapshot()).isSameAs(engine.snapshot());
+  }
+
+  @Test
+  @DisplayName("Should match a full recompute after batches of instructions.")
+  public void testAcceptAllMatchesFullRecompute() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final IncrementalReportEngine engine = new IncrementalReportEngine(3);
+    engine.acceptAll(tradeInstructions.subList(0, 4));
+    engine.snapshot();
+    engine.acceptAll(tradeInstructions.subList(4, tradeInstructions.size()));
+
+    final ReportAggregator aggregator = new ReportAggregator();
+    tradeInstructions.forEach(aggregator::add);
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(engine.snapshot().getSettlements(instructionType))
+          .isEqualTo(aggregator.toReport().getSettlements(instructionType));
+      assertThat(engine.snapshot().getRankings(instructionType))
+          .isEqualTo(aggregator.toReport(3).getRankings(instructionType))
+          .hasSize(3);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.EntityTotals;
+import trade.report.model.InstructionBatch;
+import trade.report.model.SettlementTotals;
+import trade.report.util.TradeReportUtility;
+
+class ParallelBatchAggregatorTest {
+
+  private static InstructionBatch randomBatch(final int size) {
+    final Random random = new Random(42);
+    final InstructionBatch batch = new InstructionBatch();
+    for (int i = 0; i < size; i++) {
+      batch.add(random.nextBoolean() ? InstructionType.BUY : InstructionType.SELL,
+          "entity" + random.nextInt(50), "USD", 0.1 + random.nextDouble(),
+          1 + random.nextInt(1000), random.nextDouble() * 200, 16_800 + random.nextInt(30));
+    }
+    return batch;
+  }
+
+  @Test
+  @DisplayName("Should return the same results as the sequential aggregation for the sample instructions.")
+  public void testMatchesSequentialForSample() {
+    final InstructionBatch batch = InstructionBatch.of(TradeReportUtility.getTradeInstructions());
+    final ParallelBatchAggregator aggregator = new ParallelBatchAggregator(
+        ForkJoinPool.commonPool(), 2);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(aggregator.calculateUSDSettlements(batch, instructionType).toMap())
+          .isEqualTo(BatchAggregator.calculateUSDSettlements(batch, instructionType).toMap());
+      assertThat(aggregator.calculateRankings(batch, instructionType).toEntries())
+          .isEqualTo(BatchAggregator.calculateRankings(batch, instructionType).toEntries());
+    }
+  }
+
+  @Test
+  @DisplayName("Should produce bit-identical totals regardless of the number of threads.")
+  public void testDeterministicAcrossPools() {
+    final InstructionBatch batch = randomBatch(100_000);
+    final ForkJoinPool single = new ForkJoinPool(1);
+    final ForkJoinPool many = new ForkJoinPool(8);
+    try {
+      final SettlementTotals expected = new ParallelBatchAggregator(single, 1000)
+          .calculateUSDSettlements(batch, InstructionType.BUY);
+      final EntityTotals expectedRankings = new ParallelBatchAggregator(single, 1000)
+          .calculateRankings(batch, InstructionType.SELL);
+      for (int run = 0; run < 5; run++) {
+        assertThat(new ParallelBatchAggregator(many, 1000)
+            .calculateUSDSettlements(batch, InstructionType.BUY).toMap())
+            .isEqualTo(expected.toMap());
+        assertThat(new ParallelBatchAggregator(many, 1000)
+            .calculateRankings(batch, InstructionType.SELL).toEntries())
+            .isEqualTo(expectedRankings.toEntries());
+      }
+    } finally {
+      single.shutdown();
+      many.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should match the sequential aggregation exactly for a large batch.")
+  public void testMatchesSequential() {
+    final InstructionBatch batch = randomBatch(100_000);
+    final SettlementTotals parallel = new ParallelBatchAggregator(ForkJoinPool.commonPool(), 1000)
+        .calculateUSDSettlements(batch, InstructionType.SELL);
+    final SettlementTotals sequential = BatchAggregator.calculateUSDSettlements(batch,
+        InstructionType.SELL);
+
+    assertThat(parallel.size()).isEqualTo(sequential.size());
+    for (int i = 0; i < parallel.size(); i++) {
+      assertThat(parallel.getEpochDay(i)).isEqualTo(sequential.getEpochDay(i));
+      assertThat(parallel.getScaledAmount(i)).isEqualTo(sequential.getScaledAmount(i));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when partition size is not positive.")
+  public void testInvalidPartitionSize() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new ParallelBatchAggregator(ForkJoinPool.commonPool(), 0))
+        .withMessageContaining("Partition size should be positive.");
+  }
+}
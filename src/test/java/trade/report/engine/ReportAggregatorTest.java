@@ -0,0 +1,123 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class ReportAggregatorTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should return empty settlements and rankings when no trade instructions are given.")
+  public void testAggregate_withNoTradeInstructions() {
+    final SettlementReport report = ReportAggregator.aggregate(Collections.emptyList());
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType)).isEmpty();
+      assertThat(report.getRankings(instructionType)).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw Null pointer exception when trade instructions is null.")
+  public void testAggregate_withNullTradeInstructions() {
+    assertThatExceptionOfType(NullPointerException.class)
+        .as("Null pointer Exception is thrown.")
+        .isThrownBy(() -> ReportAggregator.aggregate(null))
+        .withMessageContaining("Trade instructions should not be null.");
+  }
+
+  @Test
+  @DisplayName("Should produce the same settlements and rankings as the utility methods in one pass.")
+  public void testAggregate_matchesUtilityMethods() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final SettlementReport report = ReportAggregator.aggregate(tradeInstructions);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .as("Settlements match for " + instructionType)
+          .isEqualTo(TradeReportUtility.calculateUSDSettlements(tradeInstructions, instructionType));
+      assertThat(report.getRankings(instructionType))
+          .as("Rankings match for " + instructionType)
+          .containsExactlyElementsOf(
+              TradeReportUtility.calculateRankings(tradeInstructions, instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should rank each entity once by its total and honour the ranking limit.")
+  public void testToReport_withRankingLimit() {
+    final ReportAggregator aggregator = new ReportAggregator();
+    aggregator.add(new TradeInstruction("foo", "S", 1.0, "USD", "04 Jan 2016", "04 Jan 2016",
+        10, 1.0));
+    aggregator.add(new TradeInstruction("bar", "S", 1.0, "USD", "04 Jan 2016", "04 Jan 2016",
+        15, 1.0));
+    aggregator.add(new TradeInstruction("foo", "S", 1.0, "USD", "04 Jan 2016", "05 Jan 2016",
+        10, 1.0));
+
+    assertThat(aggregator.toReport().getRankings(InstructionType.SELL))
+        .containsExactly(entry("foo", 20.0), entry("bar", 15.0));
+    assertThat(aggregator.toReport(1).getRankings(InstructionType.SELL))
+        .containsExactly(entry("foo", 20.0));
+  }
+
+  @Test
+  @DisplayName("Should give the same report when shards are saved, loaded and merged in any order.")
+  public void testMerge_withSavedShards() throws IOException {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final Path[] shards = new Path[3];
+    for (int shard = 0; shard < shards.length; shard++) {
+      final ReportAggregator aggregator = new ReportAggregator();
+      for (int i = shard; i < tradeInstructions.size(); i += shards.length) {
+        aggregator.add(tradeInstructions.get(i));
+      }
+      shards[shard] = tempDir.resolve("shard" + shard + ".part");
+      aggregator.save(shards[shard]);
+    }
+
+    final SettlementReport expected = ReportAggregator.aggregate(tradeInstructions);
+    final SettlementReport merged = ReportAggregator.merge(List.of(shards)).toReport();
+    final ReportAggregator regrouped = ReportAggregator.merge(List.of(shards[2], shards[0]));
+    regrouped.merge(ReportAggregator.load(shards[1]));
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(merged.getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(merged.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+      assertThat(regrouped.toReport().getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(regrouped.toReport().getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when a stream is not a partial report.")
+  public void testReadFrom_withInvalidStream() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ReportAggregator().writeTo(out);
+    final byte[] bytes = out.toByteArray();
+    bytes[0] = 0;
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> ReportAggregator.readFrom(new ByteArrayInputStream(bytes)))
+        .withMessage("Stream is not a partial report.");
+  }
+}
@@ -0,0 +1,94 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.CubeDimension;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.util.TradeReportUtility;
+
+class RollupCubeTest {
+
+  private static final LocalDate DAY = LocalDate.of(2016, 1, 4);
+
+  private static RollupCube sampleCube() {
+    final InstructionBatch batch = new InstructionBatch();
+    batch.add(InstructionType.SELL, "foo", "AED", 1.0, 10, 1.0, day(0));
+    batch.add(InstructionType.SELL, "foo", "AED", 1.0, 5, 1.0, day(0));
+    batch.add(InstructionType.SELL, "bar", "AED", 1.0, 20, 1.0, day(3));
+    batch.add(InstructionType.SELL, "bar", "SGP", 1.0, 40, 1.0, day(8));
+    batch.add(InstructionType.BUY, "foo", "SGP", 1.0, 7, 1.0, day(1));
+    return RollupCube.of(batch);
+  }
+
+  private static int day(final int offset) {
+    return Math.toIntExact(DAY.plusDays(offset).toEpochDay());
+  }
+
+  @Test
+  @DisplayName("Should keep one cell per distinct date, entity, currency and type.")
+  public void testSize() {
+    assertThat(sampleCube().size()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should group outgoing amounts per currency and entity for a date range.")
+  public void testGroupAndSlice() {
+    final List<RollupCube.Row> rows = sampleCube().query()
+        .where(CubeDimension.INSTRUCTION_TYPE, InstructionType.SELL)
+        .between(DAY, DAY.plusDays(6))
+        .groupBy(CubeDimension.CURRENCY, CubeDimension.ENTITY)
+        .execute();
+
+    assertThat(rows)
+        .extracting(RollupCube.Row::getCurrency, RollupCube.Row::getEntityName,
+            RollupCube.Row::getAmount, RollupCube.Row::getInstructionCount)
+        .containsExactly(tuple("AED", "foo", 15.0, 2L), tuple("AED", "bar", 20.0, 1L));
+    assertThat(rows.get(0).getSettlementDate()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should roll every cell up into a grand total without grouping.")
+  public void testGrandTotal() {
+    final RollupCube cube = sampleCube();
+
+    assertThat(cube.query().execute()).extracting(RollupCube.Row::getAmount)
+        .containsExactly(82.0);
+    assertThat(cube.query().where(CubeDimension.CURRENCY, "USD").execute())
+        .extracting(RollupCube.Row::getAmount).containsExactly(0.0);
+  }
+
+  @Test
+  @DisplayName("Should match the settlements and rankings of the batch aggregation.")
+  public void testMatchesBatchAggregator() {
+    final InstructionBatch batch = InstructionBatch.of(TradeReportUtility.getTradeInstructions());
+    final RollupCube cube = RollupCube.of(batch);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      final List<RollupCube.Row> byDate = cube.query()
+          .where(CubeDimension.INSTRUCTION_TYPE, instructionType)
+          .groupBy(CubeDimension.SETTLEMENT_DATE).execute();
+      assertThat(byDate).extracting(RollupCube.Row::getSettlementDate)
+          .containsExactlyElementsOf(
+              BatchAggregator.calculateUSDSettlements(batch, instructionType).toMap().keySet());
+      assertThat(byDate).extracting(RollupCube.Row::getAmount)
+          .containsExactlyElementsOf(
+              BatchAggregator.calculateUSDSettlements(batch, instructionType).toMap().values());
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when a filter value has the wrong type.")
+  public void testInvalidFilter() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> sampleCube().query().where(CubeDimension.ENTITY, DAY))
+        .withMessageContaining("is not valid for dimension ENTITY");
+  }
+}
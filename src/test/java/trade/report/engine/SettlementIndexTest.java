@@ -0,0 +1,93 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+import trade.report.util.TradeReportUtility;
+
+class SettlementIndexTest {
+
+  private static final LocalDate DAY = LocalDate.of(2016, 1, 4);
+
+  private static SettlementIndex sampleIndex() {
+    final InstructionBatch batch = new InstructionBatch();
+    batch.add(InstructionType.BUY, "foo", "USD", 1.0, 10, 1.0, day(0));
+    batch.add(InstructionType.BUY, "bar", "USD", 1.0, 20, 1.0, day(2));
+    batch.add(InstructionType.BUY, "foo", "AED", 0.5, 10, 1.0, day(2));
+    batch.add(InstructionType.BUY, "foo", "USD", 1.0, 40, 1.0, day(10));
+    batch.add(InstructionType.SELL, "bar", "USD", 1.0, 7, 1.0, day(1));
+    return SettlementIndex.of(batch);
+  }
+
+  private static int day(final int offset) {
+    return Math.toIntExact(DAY.plusDays(offset).toEpochDay());
+  }
+
+  @Test
+  @DisplayName("Should total the settlements between two dates inclusive.")
+  public void testGetTotal() {
+    final SettlementIndex index = sampleIndex();
+
+    assertThat(index.getTotal(InstructionType.BUY, DAY, DAY.plusDays(2))).isEqualTo(35.0);
+    assertThat(index.getTotal(InstructionType.BUY, DAY.plusDays(1), DAY.plusDays(9)))
+        .isEqualTo(25.0);
+    assertThat(index.getTotal(InstructionType.BUY, DAY.plusDays(3), DAY.plusDays(9))).isZero();
+    assertThat(index.getTotal(InstructionType.SELL, DAY.minusYears(1), DAY.plusYears(1)))
+        .isEqualTo(7.0);
+  }
+
+  @Test
+  @DisplayName("Should total the settlements of a single currency.")
+  public void testGetTotalForCurrency() {
+    final SettlementIndex index = sampleIndex();
+
+    assertThat(index.getTotal(InstructionType.BUY, "AED", DAY, DAY.plusDays(10))).isEqualTo(5.0);
+    assertThat(index.getTotal(InstructionType.BUY, "USD", DAY, DAY.plusDays(10))).isEqualTo(70.0);
+    assertThat(index.getTotal(InstructionType.SELL, "AED", DAY, DAY.plusDays(10))).isZero();
+    assertThat(index.getTotal(InstructionType.BUY, "SGP", DAY, DAY.plusDays(10))).isZero();
+  }
+
+  @Test
+  @DisplayName("Should calculate rolling window totals for every settlement date.")
+  public void testGetRollingTotals() {
+    final SettlementIndex index = sampleIndex();
+
+    assertThat(index.getRollingTotals(InstructionType.BUY, 3).toMap()).containsExactly(
+        entry(DAY, 10.0), entry(DAY.plusDays(2), 35.0), entry(DAY.plusDays(10), 40.0));
+    assertThat(index.getRollingTotals(InstructionType.BUY, "USD", 11).toMap()).containsExactly(
+        entry(DAY, 10.0), entry(DAY.plusDays(2), 30.0), entry(DAY.plusDays(10), 70.0));
+  }
+
+  @Test
+  @DisplayName("Should return the same settlements as the batch aggregation.")
+  public void testGetSettlements() {
+    final InstructionBatch batch = InstructionBatch.of(TradeReportUtility.getTradeInstructions());
+    final SettlementIndex index = SettlementIndex.of(batch);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(index.getSettlements(instructionType).toMap()).containsExactlyEntriesOf(
+          BatchAggregator.calculateUSDSettlements(batch, instructionType).toMap());
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when the range or window is invalid.")
+  public void testInvalidQueries() {
+    final SettlementIndex index = sampleIndex();
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> index.getTotal(InstructionType.BUY, DAY.plusDays(1), DAY))
+        .withMessageContaining("Start date should not be after end date.");
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> index.getRollingTotals(InstructionType.BUY, 0))
+        .withMessageContaining("Window should be at least one day.");
+  }
+}
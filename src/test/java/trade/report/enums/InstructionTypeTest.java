@@ -62,4 +62,15 @@ class InstructionTypeTest {
         .isThrownBy(() ->  InstructionType.fromType("s"))
         .withMessageContaining("Instruction type provided is invalid.");
   }
+
+  @Test
+  @DisplayName("Should resolve Instruction type from its single character code.")
+  void fromCode() {
+    assertThat(InstructionType.fromCode('B')).isEqualTo(InstructionType.BUY);
+    assertThat(InstructionType.fromCode('S')).isEqualTo(InstructionType.SELL);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() ->  InstructionType.fromCode('b'))
+        .withMessageContaining("Instruction type provided is invalid.");
+  }
 }
\ No newline at end of file
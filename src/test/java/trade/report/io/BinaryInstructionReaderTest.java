@@ -0,0 +1,130 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class BinaryInstructionReaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should aggregate a binary file into the same report as the instructions.")
+  public void testAggregate() throws IOException {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final Path file = write(tradeInstructions);
+
+    final BinaryInstructionReader reader = BinaryInstructionReader.open(file);
+
+    assertThat(reader.size()).isEqualTo(tradeInstructions.size());
+    assertReportEquals(reader.aggregate(), ReportAggregator.aggregate(tradeInstructions));
+    assertThat(reader.aggregate(1).getRankings(InstructionType.BUY))
+        .isEqualTo(ReportAggregator.aggregate(tradeInstructions).getRankings(InstructionType.BUY)
+            .subList(0, 1));
+  }
+
+  @Test
+  @DisplayName("Should convert a delimited file once and aggregate it like the text reader.")
+  public void testConvert() throws IOException {
+    final Path source = tempDir.resolve("instructions.csv");
+    Files.writeString(source, String.join("\n",
+        "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+        "bar,B,0.50,SGP,01 Jan 2016,03 Jan 2016,300,100.5",
+        "zoo,S,0.22,AED,06 Jan 2016,09 Jan 2016,300,150.5"));
+    final Path target = tempDir.resolve("instructions.bin");
+
+    assertThat(BinaryInstructionWriter.convert(source, target, WeekendSettlementCalendar.INSTANCE))
+        .isEqualTo(3);
+
+    final BinaryInstructionReader reader = BinaryInstructionReader.open(target);
+    assertThat(reader.getCurrencies().decode(1)).isEqualTo("AED");
+    assertReportEquals(reader.aggregate(), TradeInstructionReader.aggregate(source));
+  }
+
+  @Test
+  @DisplayName("Should leave no binary file when a line cannot be converted.")
+  public void testConvertInvalidLine() throws IOException {
+    final Path source = tempDir.resolve("instructions.csv");
+    Files.writeString(source, String.join("\n",
+        "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+        "bar,T,0.50,SGP,01 Jan 2016,03 Jan 2016,300,100.5"));
+    final Path target = tempDir.resolve("instructions.bin");
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> BinaryInstructionWriter.convert(source, target,
+            WeekendSettlementCalendar.INSTANCE));
+
+    assertThat(target).doesNotExist();
+    assertThat(tempDir.resolve("instructions.bin.tmp")).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("Should aggregate settlement dates too far apart for dense accumulators.")
+  public void testAggregateWideDateSpan() throws IOException {
+    final List<TradeInstruction> tradeInstructions = List.of(
+        new TradeInstruction("foo", InstructionType.BUY, 1.0, "USD", LocalDate.of(2016, 1, 4),
+            LocalDate.of(2016, 1, 4), 10, 1.5),
+        new TradeInstruction("bar", InstructionType.BUY, 1.0, "USD", LocalDate.of(9999, 1, 4),
+            LocalDate.of(9999, 1, 4), 20, 1.5));
+
+    assertReportEquals(BinaryInstructionReader.open(write(tradeInstructions)).aggregate(),
+        ReportAggregator.aggregate(tradeInstructions));
+  }
+
+  @Test
+  @DisplayName("Should read an empty binary file.")
+  public void testEmpty() throws IOException {
+    final BinaryInstructionReader reader = BinaryInstructionReader.open(write(List.of()));
+
+    assertThat(reader.size()).isZero();
+    assertThat(reader.aggregate().getSettlements(InstructionType.SELL)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when the file is not a binary file.")
+  public void testInvalidFile() throws IOException {
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.writeString(file, "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5");
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> BinaryInstructionReader.open(file))
+        .withMessageContaining("File is not a binary instruction file.");
+  }
+
+  private Path write(final List<TradeInstruction> tradeInstructions) throws IOException {
+    final Path file = tempDir.resolve("instructions.bin");
+    try (BinaryInstructionWriter writer = BinaryInstructionWriter.open(file)) {
+      for (final TradeInstruction tradeInstruction : tradeInstructions) {
+        writer.write(tradeInstruction);
+      }
+    }
+    return file;
+  }
+
+  private static void assertReportEquals(final SettlementReport actual,
+      final SettlementReport expected) {
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(actual.getSettlements(instructionType))
+          .containsExactlyEntriesOf(expected.getSettlements(instructionType));
+      assertThat(actual.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+  }
+}
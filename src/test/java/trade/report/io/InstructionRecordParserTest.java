@@ -0,0 +1,188 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.enums.PipelineStage;
+import trade.report.metrics.PipelineMetrics;
+import trade.report.metrics.StageSnapshot;
+import trade.report.model.InstructionBatch;
+import trade.report.model.TradeInstruction;
+import trade.report.util.SymbolTable;
+
+class InstructionRecordParserTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should parse a record into primitive fields with the actual settlement date.")
+  public void testParse() {
+    final byte[] line = "zoo, S ,0.22,AED,06 Jan 2016,08 Jan 2016,300,150.5"
+        .getBytes(StandardCharsets.UTF_8);
+    final InstructionRecord record = new InstructionRecord();
+    new InstructionRecordParser().parse(line, 0, line.length, record);
+
+    assertThat(record.getEntityName()).isEqualTo("zoo");
+    assertThat(record.getInstructionType()).isEqualTo(InstructionType.SELL);
+    assertThat(record.getCurrency()).isEqualTo("AED");
+    assertThat(record.getInstructionEpochDay()).isEqualTo(LocalDate.of(2016, 1, 6).toEpochDay());
+    assertThat(record.getInstructedSettlementEpochDay())
+        .isEqualTo(LocalDate.of(2016, 1, 8).toEpochDay());
+    assertThat(record.getActualSettlementEpochDay())
+        .isEqualTo(LocalDate.of(2016, 1, 10).toEpochDay());
+    assertThat(record.calculateUSDAmount()).isEqualTo(150.5 * 300 * 0.22);
+  }
+
+  @Test
+  @DisplayName("Should decode dates to the same epoch day as the date formatter.")
+  public void testParseEpochDay() {
+    for (LocalDate date = LocalDate.of(1999, 12, 1); date.getYear() < 2030;
+        date = date.plusDays(1)) {
+      final byte[] text = date.format(dateFormatter).getBytes(StandardCharsets.UTF_8);
+      assertThat(InstructionRecordParser.parseEpochDay(text, 0, text.length))
+          .as(date.toString())
+          .isEqualTo(date.toEpochDay());
+    }
+  }
+
+  @Test
+  @DisplayName("Should decode decimals to the same double as Double.parseDouble.")
+  public void testParseDecimal() {
+    for (final String value : List.of("0", "0.5", "-0.22", "100.5", "150.50", "1.1", "0.1",
+        "123456.789", "9007199254740993", "1e3", ".5", "+7")) {
+      final byte[] text = value.getBytes(StandardCharsets.UTF_8);
+      assertThat(InstructionRecordParser.parseDecimal(text, 0, text.length))
+          .as(value)
+          .isEqualTo(Double.parseDouble(value));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw Number format exception when units overflow an int.")
+  public void testParseIntOverflow() {
+    final byte[] text = "2147483648".getBytes(StandardCharsets.UTF_8);
+    assertThatExceptionOfType(NumberFormatException.class)
+        .isThrownBy(() -> InstructionRecordParser.parseInt(text, 0, text.length));
+  }
+
+  @Test
+  @DisplayName("Should produce the same trade instructions as the text reader for a file.")
+  public void testParseFileMatchesTradeInstructionConstructor() throws IOException {
+    final List<String> lines = List.of(
+        "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+        "# comment",
+        "bar,S,0.22,SAR,05 Jan 2016,08 Jan 2016,100,150.5\r",
+        "doo,B,1.5,USD,31 Dec 2015,29 Feb 2016,500,0.1");
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.write(file, lines);
+
+    final List<TradeInstruction> parsed = new ArrayList<>();
+    // A tiny buffer forces records to span reads and the buffer to grow.
+    final long count = new InstructionRecordParser(',', WeekendSettlementCalendar.INSTANCE,
+        new SymbolTable(), 8)
+        .parseFile(file, record -> parsed.add(record.toTradeInstruction()));
+
+    assertThat(count).isEqualTo(3);
+    assertThat(parsed).hasSize(3);
+    final TradeInstruction expected = new TradeInstruction("bar", "S", 0.22, "SAR",
+        "05 Jan 2016", "08 Jan 2016", 100, 150.5);
+    assertThat(parsed.get(1).getActualSettlementDate())
+        .isEqualTo(expected.getActualSettlementDate());
+    assertThat(parsed.get(1).calculateUSDAmount()).isEqualTo(expected.calculateUSDAmount());
+    assertThat(parsed.get(2).getInstructionDate()).isEqualTo(LocalDate.of(2015, 12, 31));
+    assertThat(parsed.get(2).getActualSettlementDate()).isEqualTo(LocalDate.of(2016, 2, 29));
+  }
+
+  @Test
+  @DisplayName("Should measure parsing, settlement and aggregation of a file as separate stages.")
+  public void testParseFileRecordsStages() throws IOException {
+    final List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      lines.add("foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016," + (i + 1) + ",100.5");
+    }
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.write(file, lines);
+    final PipelineMetrics metrics = new PipelineMetrics();
+
+    final long count = new InstructionRecordParser(',', WeekendSettlementCalendar.INSTANCE,
+        new SymbolTable(), 1 << 16, metrics::start).parseFile(file, record -> { });
+
+    assertThat(count).isEqualTo(2500);
+    for (final PipelineStage stage : List.of(PipelineStage.PARSE, PipelineStage.SETTLEMENT,
+        PipelineStage.AGGREGATION)) {
+      final StageSnapshot snapshot = metrics.getStages().get(stage.ordinal());
+      assertThat(snapshot.getInvocations()).as(stage.name()).isGreaterThanOrEqualTo(3);
+      assertThat(snapshot.getItems()).as(stage.name()).isEqualTo(2500);
+    }
+  }
+
+  @Test
+  @DisplayName("Should assign stable ids from a symbol table shared across parsers.")
+  public void testSharedSymbolTable() {
+    final SymbolTable symbolTable = new SymbolTable();
+    final InstructionBatch batch = new InstructionBatch(16, symbolTable);
+    final InstructionRecord record = new InstructionRecord();
+    final byte[] first = "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5"
+        .getBytes(StandardCharsets.UTF_8);
+    final byte[] second = "bar,S,0.22,AED,06 Jan 2016,08 Jan 2016,300,150.5"
+        .getBytes(StandardCharsets.UTF_8);
+
+    new InstructionRecordParser(',', WeekendSettlementCalendar.INSTANCE, symbolTable)
+        .parse(first, 0, first.length, record);
+    assertThat(record.getEntityId()).isZero();
+    assertThat(record.getCurrencyId()).isZero();
+
+    final InstructionRecordParser parser = new InstructionRecordParser(',',
+        WeekendSettlementCalendar.INSTANCE, symbolTable);
+    parser.parse(second, 0, second.length, record);
+    batch.add(record.getInstructionType(), record.getEntityId(), record.getCurrencyId(),
+        record.getAgreedFx(), record.getNumberOfUnits(), record.getPricePerUnit(),
+        record.getActualSettlementEpochDay());
+    parser.parse(first, 0, first.length, record);
+
+    assertThat(record.getEntityId()).isZero();
+    assertThat(symbolTable.getEntityName(1)).isEqualTo("bar");
+    assertThat(batch.getCurrencies().decode(batch.currencyIds()[0])).isEqualTo("AED");
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception with line number when instruction type is invalid.")
+  public void testParseFileWithInvalidInstructionType() throws IOException {
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.write(file, List.of("foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+        "foo,T,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5"));
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new InstructionRecordParser().parseFile(file, record -> { }))
+        .withMessageContaining("Invalid trade instruction at line 2")
+        .withMessageContaining("Instruction type provided is invalid.");
+  }
+
+  @Test
+  @DisplayName("Should throw DateTimeParse Exception when the year of a date is malformed.")
+  public void testParseEpochDayWithInvalidYear() {
+    for (final String date : List.of("01 Jan 20x6", "01 Jan -016", "01 Jan 0000")) {
+      final byte[] text = date.getBytes(StandardCharsets.UTF_8);
+
+      assertThatExceptionOfType(DateTimeParseException.class)
+          .as("DateTimeParse Exception is thrown.")
+          .isThrownBy(() -> InstructionRecordParser.parseEpochDay(text, 0, text.length));
+    }
+  }
+}
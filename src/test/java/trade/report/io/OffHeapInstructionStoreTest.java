@@ -0,0 +1,88 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class OffHeapInstructionStoreTest {
+
+  @Test
+  @DisplayName("Should aggregate stored instructions into the same report as the instructions.")
+  public void testAggregate() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final SettlementReport expected = ReportAggregator.aggregate(tradeInstructions);
+
+    try (OffHeapInstructionStore store = OffHeapInstructionStore.allocate(100)) {
+      tradeInstructions.forEach(store::add);
+
+      assertThat(store.size()).isEqualTo(tradeInstructions.size());
+      final SettlementReport report = store.aggregate();
+      for (final InstructionType instructionType : InstructionType.values()) {
+        assertThat(report.getSettlements(instructionType))
+            .isEqualTo(expected.getSettlements(instructionType));
+        assertThat(report.getRankings(instructionType))
+            .isEqualTo(expected.getRankings(instructionType));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should aggregate instructions spread over several buffers.")
+  public void testAggregate_acrossBuffers() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+    final int count = 2 * OffHeapInstructionStore.BUFFER_RECORDS + 10;
+    final List<TradeInstruction> book = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      book.add(tradeInstructions.get(i % tradeInstructions.size()));
+    }
+    final SettlementReport expected = ReportAggregator.aggregate(book);
+
+    try (OffHeapInstructionStore store = OffHeapInstructionStore.allocate(count + 100)) {
+      book.forEach(store::add);
+
+      final SettlementReport report = store.aggregate();
+      for (final InstructionType instructionType : InstructionType.values()) {
+        assertThat(report.getSettlements(instructionType))
+            .isEqualTo(expected.getSettlements(instructionType));
+        assertThat(report.getRankings(instructionType))
+            .isEqualTo(expected.getRankings(instructionType));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalState Exception when the store is full or closed.")
+  public void testAdd_beyondCapacityAndAfterClose() {
+    final TradeInstruction tradeInstruction = TradeReportUtility.getTradeInstructions().get(0);
+    final OffHeapInstructionStore store = OffHeapInstructionStore.allocate(1);
+    store.add(tradeInstruction);
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .as("IllegalState Exception is thrown.")
+        .isThrownBy(() -> store.add(tradeInstruction))
+        .withMessage("Store is full with 1 instructions.");
+
+    store.close();
+    assertThatExceptionOfType(IllegalStateException.class)
+        .as("IllegalState Exception is thrown.")
+        .isThrownBy(store::aggregate)
+        .withMessage("Store is closed.");
+  }
+
+  @Test
+  @DisplayName("Should return an empty report when nothing is stored.")
+  public void testAggregate_empty() {
+    try (OffHeapInstructionStore store = OffHeapInstructionStore.allocate(0)) {
+      assertThat(store.aggregate().getSettlements(InstructionType.BUY)).isEmpty();
+    }
+  }
+}
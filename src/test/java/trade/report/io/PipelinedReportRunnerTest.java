@@ -0,0 +1,94 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+
+class PipelinedReportRunnerTest {
+
+  private static final String[] ENTITIES = {"foo", "bar", "zoo", "qux"};
+  private static final String[] CURRENCIES = {"SGP", "AED", "SAR", "EUR"};
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should produce the same report as the sequential reader.")
+  public void testMatchesSequential() throws IOException {
+    final List<String> lines = new ArrayList<>();
+    lines.add("# entity,type,fx,currency,instructionDate,settlementDate,units,price");
+    for (int i = 0; i < 1000; i++) {
+      lines.add(String.format("%s,%s,0.%02d,%s,01 Jan 2016,%02d Jan 2016,%d,%d.25",
+          ENTITIES[i % ENTITIES.length], i % 3 == 0 ? "S" : "B", 10 + i % 90,
+          CURRENCIES[i % CURRENCIES.length], 1 + i % 28, 1 + i % 500, 1 + i % 97));
+      if (i % 100 == 0) {
+        lines.add("");
+      }
+    }
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.writeString(file, String.join("\r\n", lines));
+
+    final SettlementReport expected = TradeInstructionReader.aggregate(file);
+    final SettlementReport actual = new PipelinedReportRunner(
+        WeekendSettlementCalendar.INSTANCE, 7, 3, 2).aggregate(file);
+
+    for (InstructionType instructionType : InstructionType.values()) {
+      assertThat(actual.getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(actual.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception with line number when a record is malformed.")
+  public void testAggregateWithMalformedRecord() throws IOException {
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.writeString(file, "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5\n"
+        + "bar,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5\n"
+        + "zoo,B,0.50,SGP\n");
+    final PipelinedReportRunner runner = new PipelinedReportRunner(
+        WeekendSettlementCalendar.INSTANCE, 1, 2, 1);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> runner.aggregate(file))
+        .withMessageContaining("Invalid trade instruction at line 3");
+  }
+
+  @Test
+  @DisplayName("Should throw NoSuchFile Exception when the instruction file does not exist.")
+  public void testAggregateWithMissingFile() {
+    final Path file = tempDir.resolve("missing.csv");
+    final PipelinedReportRunner runner = new PipelinedReportRunner(
+        WeekendSettlementCalendar.INSTANCE, 1, 4, 1);
+
+    // The reader fails straight away, often before the other stages have been submitted.
+    for (int i = 0; i < 50; i++) {
+      assertThatExceptionOfType(NoSuchFileException.class)
+          .as("NoSuchFile Exception is thrown.")
+          .isThrownBy(() -> runner.aggregate(file));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when the batch size is not positive.")
+  public void testInvalidBatchSize() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new PipelinedReportRunner(WeekendSettlementCalendar.INSTANCE, 0, 1, 1))
+        .withMessage("Batch size should be positive.");
+  }
+}
@@ -0,0 +1,90 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+
+class ReportCheckpointTest {
+
+  private static final String HEAD = String.join("\n",
+      "# entity,type,fx,currency,instructionDate,settlementDate,units,price",
+      "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+      "bar,B,0.50,SGP,01 Jan 2016,03 Jan 2016,300,100.5",
+      "zoo,S,0.22,AED,06 Jan");
+  private static final String TAIL = String.join("\n",
+      " 2016,09 Jan 2016,300,150.5",
+      "foo,S,1.00,USD,06 Jan 2016,08 Jan 2016,10,1.5");
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should restore a saved checkpoint and ingest only the lines appended since.")
+  public void testRestoreAndIngestTail() throws IOException {
+    final Path input = tempDir.resolve("instructions.csv");
+    final Path checkpointFile = tempDir.resolve("report.checkpoint");
+    Files.writeString(input, HEAD);
+
+    final ReportCheckpoint checkpoint = ReportCheckpoint.restore(checkpointFile);
+    assertThat(checkpoint.ingest(input, WeekendSettlementCalendar.INSTANCE)).isEqualTo(2);
+    assertThat(checkpoint.getPosition().getLineCount()).isEqualTo(3);
+    checkpoint.save(checkpointFile);
+
+    Files.writeString(input, TAIL, StandardOpenOption.APPEND);
+    final ReportCheckpoint restored = ReportCheckpoint.restore(checkpointFile);
+    assertThat(restored.getPosition().getByteOffset())
+        .isEqualTo(checkpoint.getPosition().getByteOffset());
+    assertThat(restored.ingest(input, WeekendSettlementCalendar.INSTANCE)).isEqualTo(1);
+
+    // The last line has no line break yet, so it is left for the next ingest.
+    assertThat(restored.toReport().getRankings(InstructionType.SELL)).hasSize(1);
+    Files.writeString(input, "\n", StandardOpenOption.APPEND);
+    assertThat(restored.ingest(input, WeekendSettlementCalendar.INSTANCE)).isEqualTo(1);
+
+    final SettlementReport expected = TradeInstructionReader.aggregate(input);
+    final SettlementReport report = restored.toReport();
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(report.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when the input is shorter than the checkpoint.")
+  public void testIngest_withTruncatedInput() throws IOException {
+    final Path input = tempDir.resolve("instructions.csv");
+    Files.writeString(input, HEAD);
+    final ReportCheckpoint checkpoint = ReportCheckpoint.empty();
+    checkpoint.ingest(input, WeekendSettlementCalendar.INSTANCE);
+    Files.writeString(input, "");
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> checkpoint.ingest(input, WeekendSettlementCalendar.INSTANCE))
+        .withMessageContaining("is shorter than the ingest offset");
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when a file is not a checkpoint.")
+  public void testRestore_withInvalidFile() throws IOException {
+    final Path file = tempDir.resolve("report.checkpoint");
+    Files.writeString(file, "not a checkpoint");
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> ReportCheckpoint.restore(file))
+        .withMessage("File is not a report checkpoint.");
+  }
+}
@@ -0,0 +1,88 @@
+package trade.report.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.AssertionsForClassTypes.entry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.enums.InstructionType;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+class TradeInstructionReaderTest {
+
+  private static final String SAMPLE = String.join("\n",
+      "# entity,type,fx,currency,instructionDate,settlementDate,units,price",
+      "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5",
+      "",
+      "bar,B,0.50,SGP,01 Jan 2016,03 Jan 2016,300,100.5",
+      "zoo,S,0.22,AED,06 Jan 2016,09 Jan 2016,300,150.5");
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @DisplayName("Should read trade instructions skipping blank and comment lines.")
+  public void testForEach() throws IOException {
+    final List<TradeInstruction> tradeInstructions = new ArrayList<>();
+    try (TradeInstructionReader reader = new TradeInstructionReader(
+        new BufferedReader(new StringReader(SAMPLE)), ',')) {
+      assertThat(reader.forEach(tradeInstructions::add)).isEqualTo(3);
+    }
+
+    assertThat(tradeInstructions).extracting(TradeInstruction::getEntityName)
+        .containsExactly("foo", "bar", "zoo");
+    assertThat(tradeInstructions.get(2).getActualSettlementDate())
+        .isEqualTo(LocalDate.of(2016, 1, 10));
+  }
+
+  @Test
+  @DisplayName("Should stream an instruction file straight into a settlement report.")
+  public void testAggregate() throws IOException {
+    final Path file = tempDir.resolve("instructions.csv");
+    Files.writeString(file, SAMPLE);
+
+    final SettlementReport report = TradeInstructionReader.aggregate(file);
+
+    assertThat(report.getSettlements(InstructionType.BUY))
+        .containsExactly(entry(LocalDate.of(2016, 1, 4), 25125.00));
+    assertThat(report.getSettlements(InstructionType.SELL))
+        .containsExactly(entry(LocalDate.of(2016, 1, 10), 9933.00));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception with line number when a record is malformed.")
+  public void testForEachWithMalformedRecord() {
+    final String content = "foo,B,0.50,SGP,01 Jan 2016,02 Jan 2016,200,100.5\nbar,B,0.50,SGP";
+    final TradeInstructionReader reader = new TradeInstructionReader(
+        new BufferedReader(new StringReader(content)), ',');
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> reader.forEach(instruction -> { }))
+        .withMessageContaining("Invalid trade instruction at line 2");
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when a numeric field cannot be parsed.")
+  public void testForEachWithInvalidNumber() {
+    final String content = "foo,B,abc,SGP,01 Jan 2016,02 Jan 2016,200,100.5";
+    final TradeInstructionReader reader = new TradeInstructionReader(
+        new BufferedReader(new StringReader(content)), ',');
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> reader.forEach(instruction -> { }))
+        .withMessageContaining("Invalid trade instruction at line 1");
+  }
+}
@@ -0,0 +1,53 @@
+package trade.report.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  @DisplayName("Should report percentiles within the precision of the buckets.")
+  public void testPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value * 1000);
+    }
+
+    assertThat(histogram.getCount()).isEqualTo(100_000);
+    assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50_000_000, within(2e6));
+    assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99_000_000, within(4e6));
+    assertThat((double) histogram.getMax()).isCloseTo(100_000_000, within(4e6));
+  }
+
+  @Test
+  @DisplayName("Should map every value into a bucket whose range contains it.")
+  public void testBuckets() {
+    for (int shift = 0; shift < 63; shift++) {
+      final long value = 1L << shift;
+      for (final long probe : new long[] {value - 1, value, value + value / 3}) {
+        if (probe >= 0) {
+          final int index = LatencyHistogram.indexOf(probe);
+          assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(probe);
+          assertThat(index == 0 || LatencyHistogram.highestValueOf(index - 1) < probe).isTrue();
+        }
+      }
+    }
+    assertThat(LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)))
+        .isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  @DisplayName("Should return zero when nothing has been recorded.")
+  public void testEmpty() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(42);
+    histogram.reset();
+
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getValueAtPercentile(99)).isZero();
+    assertThat(histogram.getMax()).isZero();
+  }
+}
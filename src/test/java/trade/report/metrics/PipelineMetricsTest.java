@@ -0,0 +1,57 @@
+package trade.report.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.PipelineStage;
+
+class PipelineMetricsTest {
+
+  @Test
+  @DisplayName("Should record invocations, items and latencies per stage.")
+  public void testStart() {
+    final PipelineMetrics metrics = new PipelineMetrics();
+    for (int i = 0; i < 3; i++) {
+      try (PipelineMetrics.Span span = metrics.start(PipelineStage.PARSE).items(100)) {
+        assertThat(span).isNotNull();
+      }
+    }
+
+    final StageSnapshot parse = metrics.getStages().get(PipelineStage.PARSE.ordinal());
+    assertThat(parse.getStage()).isEqualTo("PARSE");
+    assertThat(parse.getInvocations()).isEqualTo(3);
+    assertThat(parse.getItems()).isEqualTo(300);
+    assertThat(parse.getMaxNanos()).isGreaterThanOrEqualTo(parse.getMedianNanos());
+    assertThat(metrics.getStages().get(PipelineStage.OUTPUT.ordinal()).getInvocations()).isZero();
+    assertThat(metrics.dump()).contains("PARSE", "OUTPUT");
+
+    metrics.reset();
+    assertThat(metrics.getStages().get(PipelineStage.PARSE.ordinal()).getInvocations()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not record global spans when metrics are disabled.")
+  public void testDisabled() {
+    PipelineMetrics.global().reset();
+    try (PipelineMetrics.Span span = PipelineMetrics.span(PipelineStage.RANKING).items(5)) {
+      assertThat(span).isNotNull();
+    }
+
+    assertThat(PipelineMetrics.ENABLED).isFalse();
+    assertThat(PipelineMetrics.global().getStages().get(PipelineStage.RANKING.ordinal())
+        .getInvocations()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should expose the global metrics as an MXBean.")
+  public void testRegisterMBean() throws Exception {
+    PipelineMetrics.registerMBean();
+    PipelineMetrics.registerMBean();
+
+    assertThat(ManagementFactory.getPlatformMBeanServer()
+        .getAttribute(new ObjectName(PipelineMetrics.OBJECT_NAME), "Stages")).isNotNull();
+  }
+}
@@ -44,6 +44,16 @@ class TradeInstructionTest {
     assertThat(tradeInstruction.calculateUSDAmount()).isEqualTo(expectedUSDAmount);
   }
 
+  @Test
+  @DisplayName("Should throw Arithmetic Exception when USD Amount is outside the fixed-point range.")
+  void testScaledUSDAmountOutOfRange() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .as("Arithmetic Exception is thrown.")
+        .isThrownBy(
+            () -> new TradeInstruction(entityName, instructionType, agreedFx, currency,
+                instructionDate, instructedSettlementDate, Integer.MAX_VALUE, 1.0e10));
+  }
+
   @Test
   @DisplayName("Should throw Null Pointer Exception when Entity name provided is null.")
   public void testNullEntityName() {
@@ -0,0 +1,104 @@
+package trade.report.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.enums.ReportFormat;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+import trade.report.util.TradeReportUtility;
+
+class ReportRendererTest {
+
+  private static String render(final ReportRenderer renderer, final SettlementReport report)
+      throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ReportWriter writer = ReportWriter.of(out)) {
+      renderer.render(report, writer);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Should render the same text as the String.format based report output.")
+  public void testTextRenderer() throws IOException {
+    final SettlementReport report = ReportAggregator.aggregate(
+        TradeReportUtility.getTradeInstructions());
+    final StringBuilder expected = new StringBuilder();
+    final String newLine = System.lineSeparator();
+    expected.append("### Outgoing USD Settlements for dates ###").append(newLine);
+    for (Map.Entry<LocalDate, Double> entry : report.getSettlements(InstructionType.BUY)
+        .entrySet()) {
+      expected.append(String.format("%s - $(%.2f)", entry.getKey().format(dateFormatter),
+          entry.getValue())).append(newLine);
+    }
+    expected.append("### End of Outgoing USD Settlements ###").append(newLine);
+    expected.append(" ").append(newLine);
+    expected.append("### Incoming USD Settlements for dates ###").append(newLine);
+    for (Map.Entry<LocalDate, Double> entry : report.getSettlements(InstructionType.SELL)
+        .entrySet()) {
+      expected.append(String.format("%s - $(%.2f)", entry.getKey().format(dateFormatter),
+          entry.getValue())).append(newLine);
+    }
+    expected.append("### End of Incoming USD Settlements ###").append(newLine);
+    expected.append("         ").append(newLine);
+    expected.append("### Ranking of Entities based on Outgoing USD Settlements ### ")
+        .append(newLine);
+    int ranking = 1;
+    for (Map.Entry<String, Double> entry : report.getRankings(InstructionType.BUY)) {
+      expected.append(String.format("%d) %s $(%.2f)", ranking++, entry.getKey(),
+          entry.getValue())).append(newLine);
+    }
+    expected.append("### End of Ranking of Outgoing USD Settlements ###            ")
+        .append(newLine);
+    expected.append("         ").append(newLine);
+    expected.append("### Ranking of Entities based on Incoming USD Settlements ### ")
+        .append(newLine);
+    ranking = 1;
+    for (Map.Entry<String, Double> entry : report.getRankings(InstructionType.SELL)) {
+      expected.append(String.format("%d) %s $(%.2f)", ranking++, entry.getKey(),
+          entry.getValue())).append(newLine);
+    }
+    expected.append("### End of Ranking of Incoming USD Settlements ### ").append(newLine);
+
+    assertThat(render(new TextReportRenderer(), report)).isEqualTo(expected.toString());
+  }
+
+  @Test
+  @DisplayName("Should render settlements ordered by date and rankings as CSV rows.")
+  public void testCsvRenderer() throws IOException {
+    final SettlementReport report = ReportAggregator.aggregate(List.of(
+        new TradeInstruction("foo, inc", "B", 1.0, "USD", "04 Jan 2016", "05 Jan 2016", 10, 1.5),
+        new TradeInstruction("bar", "B", 1.0, "USD", "04 Jan 2016", "04 Jan 2016", 10, 1.0)));
+
+    assertThat(render(ReportFormat.CSV.createRenderer(), report).split(System.lineSeparator()))
+        .containsExactly("record,instructionType,rank,settlementDate,entity,usdAmount",
+            "settlement,BUY,,04 Jan 2016,,10.00",
+            "settlement,BUY,,05 Jan 2016,,15.00",
+            "ranking,BUY,1,,\"foo, inc\",15.00",
+            "ranking,BUY,2,,bar,10.00");
+  }
+
+  @Test
+  @DisplayName("Should render settlements and rankings as a JSON document.")
+  public void testJsonRenderer() throws IOException {
+    final SettlementReport report = ReportAggregator.aggregate(List.of(
+        new TradeInstruction("say \"hi\"", "S", 1.0, "USD", "04 Jan 2016", "04 Jan 2016", 10,
+            1.0)));
+
+    assertThat(render(ReportFormat.JSON.createRenderer(), report).trim())
+        .isEqualTo("{\"settlements\":{\"BUY\":[],\"SELL\":[{\"date\":\"04 Jan 2016\","
+            + "\"usdAmount\":10.00}]},\"rankings\":{\"BUY\":[],\"SELL\":[{\"rank\":1,"
+            + "\"entity\":\"say \\\"hi\\\"\",\"usdAmount\":10.00}]}}");
+  }
+}
@@ -0,0 +1,76 @@
+package trade.report.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static trade.report.util.TradeReportUtility.dateFormatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportWriterTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static String amount(final double value) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ReportWriter writer = ReportWriter.of(out)) {
+      writer.writeAmount(value);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Should format amounts exactly like String.format with two decimals.")
+  public void testWriteAmount() throws IOException {
+    final double[] values = {0.0, -0.0, 0.005, 0.015, 1.005, 2.675, 45225.0, 16555.0, -3311.0,
+        123456789.125, 0.125, 1e13, 1e15 + 0.5, Double.NaN, Double.POSITIVE_INFINITY, 99.995};
+    for (final double value : values) {
+      assertThat(amount(value)).as(Double.toString(value))
+          .isEqualTo(String.format("%.2f", value));
+    }
+
+    final Random random = new Random(11);
+    for (int i = 0; i < 20_000; i++) {
+      final double value = (random.nextInt(2_000_000) - 1_000_000) / 1000.0 * random.nextDouble();
+      assertThat(amount(value)).as(Double.toString(value))
+          .isEqualTo(String.format("%.2f", value));
+    }
+  }
+
+  @Test
+  @DisplayName("Should format dates like the report date formatter.")
+  public void testWriteDate() throws IOException {
+    for (LocalDate date = LocalDate.of(2015, 12, 25); date.getYear() < 2017;
+        date = date.plusDays(3)) {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ReportWriter writer = ReportWriter.of(out)) {
+        writer.writeDate(date);
+      }
+      assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(date.format(dateFormatter));
+    }
+  }
+
+  @Test
+  @DisplayName("Should write text, numbers and non ASCII characters through a file channel.")
+  public void testOpen() throws IOException {
+    final Path file = tempDir.resolve("report.txt");
+    try (ReportWriter writer = ReportWriter.open(file)) {
+      for (int i = 0; i < 10_000; i++) {
+        writer.writeLong(i - 5000).writeByte(' ').write("Zoë").newLine();
+      }
+    }
+
+    final String[] lines = Files.readString(file).split(System.lineSeparator());
+    assertThat(lines).hasSize(10_000);
+    assertThat(lines[0]).isEqualTo("-5000 Zoë");
+    assertThat(lines[9999]).isEqualTo("4999 Zoë");
+  }
+}
@@ -0,0 +1,39 @@
+package trade.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ByteStringInternerTest {
+
+  @Test
+  @DisplayName("Should return the same String instance for repeated byte sequences.")
+  public void testIntern() {
+    final ByteStringInterner interner = new ByteStringInterner();
+    final byte[] bytes = "foo,bar,foo".getBytes(StandardCharsets.UTF_8);
+
+    final String first = interner.intern(bytes, 0, 3);
+    final String second = interner.intern(bytes, 4, 7);
+    final String third = interner.intern(bytes, 8, 11);
+
+    assertThat(first).isEqualTo("foo");
+    assertThat(second).isEqualTo("bar");
+    assertThat(third).isSameAs(first);
+    assertThat(interner.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should keep all values after the table grows.")
+  public void testInternAfterResize() {
+    final ByteStringInterner interner = new ByteStringInterner();
+    for (int i = 0; i < 1000; i++) {
+      final byte[] bytes = ("entity" + i).getBytes(StandardCharsets.UTF_8);
+      assertThat(interner.intern(bytes, 0, bytes.length)).isEqualTo("entity" + i);
+    }
+    final byte[] bytes = "entity42".getBytes(StandardCharsets.UTF_8);
+    assertThat(interner.intern(bytes, 0, bytes.length)).isEqualTo("entity42");
+    assertThat(interner.size()).isEqualTo(1000);
+  }
+}
@@ -0,0 +1,61 @@
+package trade.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FixedPointTest {
+
+  @Test
+  @DisplayName("Should convert values to and from fixed point.")
+  public void testConversion() {
+    assertThat(FixedPoint.toScaled(0.22)).isEqualTo(220_000L);
+    assertThat(FixedPoint.toScaled(-150.5)).isEqualTo(-150_500_000L);
+    assertThat(FixedPoint.toDouble(3_311_000_000L)).isEqualTo(3311.0);
+  }
+
+  @Test
+  @DisplayName("Should calculate the USD amount exactly.")
+  public void testUSDAmount() {
+    assertThat(FixedPoint.usdAmount(FixedPoint.toScaled(150.5), 300, FixedPoint.toScaled(0.22)))
+        .isEqualTo(9_933_000_000L);
+    assertThat(FixedPoint.usdAmount(FixedPoint.toScaled(0.1), 3, FixedPoint.toScaled(1.0)))
+        .isEqualTo(300_000L);
+  }
+
+  @Test
+  @DisplayName("Should multiply like BigDecimal with half-even rounding.")
+  public void testMultiplyMatchesBigDecimal() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 10_000; i++) {
+      // Every other pair stays within 31 bits to cover the direct multiplication as well.
+      final long a = i % 2 == 0 ? random.nextLong() % 1_000_000_000_000_000L
+          : random.nextInt() % Integer.MAX_VALUE;
+      final long b = random.nextInt(1_000_000_000) - 500_000_000L;
+      final long expected = BigDecimal.valueOf(a, 6).multiply(BigDecimal.valueOf(b, 6))
+          .setScale(6, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+      assertThat(FixedPoint.multiply(a, b)).isEqualTo(expected);
+    }
+    assertThat(FixedPoint.multiply(1, 500_000)).isZero();
+    assertThat(FixedPoint.multiply(3, 500_000)).isEqualTo(2);
+    assertThat(FixedPoint.multiply(-3, 500_000)).isEqualTo(-2);
+  }
+
+  @Test
+  @DisplayName("Should throw Arithmetic Exception when a value overflows.")
+  public void testOverflow() {
+    assertThatExceptionOfType(ArithmeticException.class)
+        .as("Arithmetic Exception is thrown.")
+        .isThrownBy(() -> FixedPoint.toScaled(1e13))
+        .withMessageContaining("out of the fixed-point range");
+    assertThatExceptionOfType(ArithmeticException.class)
+        .as("Arithmetic Exception is thrown.")
+        .isThrownBy(() -> FixedPoint.usdAmount(FixedPoint.toScaled(1e9), 1_000_000,
+            FixedPoint.toScaled(100.0)));
+  }
+}
@@ -0,0 +1,106 @@
+package trade.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import trade.report.engine.ReportAggregator;
+import trade.report.enums.InstructionType;
+import trade.report.io.TradeInstructionReader;
+import trade.report.model.SettlementReport;
+import trade.report.model.TradeInstruction;
+
+class InstructionGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static List<TradeInstruction> generate(final InstructionGenerator generator,
+      final int count) {
+    final List<TradeInstruction> tradeInstructions = new ArrayList<>(count);
+    generator.generate(count, tradeInstructions::add);
+    return tradeInstructions;
+  }
+
+  @Test
+  @DisplayName("Should generate the same instructions for the same seed.")
+  public void testGenerate_isDeterministic() {
+    final SettlementReport first = ReportAggregator.aggregate(
+        generate(new InstructionGenerator(7), 1000));
+    final SettlementReport second = ReportAggregator.aggregate(
+        generate(new InstructionGenerator(7), 1000));
+    final SettlementReport other = ReportAggregator.aggregate(
+        generate(new InstructionGenerator(8), 1000));
+
+    assertThat(second.getRankings(InstructionType.BUY))
+        .isEqualTo(first.getRankings(InstructionType.BUY));
+    assertThat(other.getRankings(InstructionType.BUY))
+        .isNotEqualTo(first.getRankings(InstructionType.BUY));
+  }
+
+  @Test
+  @DisplayName("Should skew entities and follow the configured currency and settlement mix.")
+  public void testGenerate_followsSettings() {
+    final List<TradeInstruction> tradeInstructions = generate(new InstructionGenerator(1)
+        .entities(100).entitySkew(1.2).buyPercent(70).fridaySaturdayPercent(40)
+        .weekendSettlementPercent(100), 10_000);
+
+    final long topEntity = tradeInstructions.stream()
+        .filter(instruction -> instruction.getEntityName().equals("entity0")).count();
+    final long lastEntity = tradeInstructions.stream()
+        .filter(instruction -> instruction.getEntityName().equals("entity99")).count();
+    final long buys = tradeInstructions.stream()
+        .filter(instruction -> instruction.getInstructionType() == InstructionType.BUY).count();
+    final long fridaySaturday = tradeInstructions.stream()
+        .filter(instruction -> instruction.getCurrency().equals("AED")
+            || instruction.getCurrency().equals("SAR")).count();
+
+    assertThat(topEntity).isGreaterThan(20 * lastEntity);
+    assertThat(buys).isBetween(6_500L, 7_500L);
+    assertThat(fridaySaturday).isBetween(3_500L, 4_500L);
+    assertThat(tradeInstructions).allSatisfy(instruction -> {
+      final DayOfWeek day = instruction.getInstructedSettlementDate().getDayOfWeek();
+      final boolean fridaySaturdayCurrency = instruction.getCurrency().equals("AED")
+          || instruction.getCurrency().equals("SAR");
+      assertThat(day).isIn(fridaySaturdayCurrency
+          ? List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY)
+          : List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+      assertThat(instruction.getInstructedSettlementDate())
+          .isAfterOrEqualTo(instruction.getInstructionDate());
+    });
+  }
+
+  @Test
+  @DisplayName("Should write a file holding the same instructions as it generates.")
+  public void testWrite_matchesGenerate() throws IOException {
+    final Path file = tempDir.resolve("instructions.csv");
+    new InstructionGenerator(3).entities(50).write(file, 2000);
+
+    final SettlementReport expected =
+        ReportAggregator.aggregate(generate(new InstructionGenerator(3).entities(50), 2000));
+    final SettlementReport report = TradeInstructionReader.aggregate(file);
+
+    for (final InstructionType instructionType : InstructionType.values()) {
+      assertThat(report.getSettlements(instructionType))
+          .isEqualTo(expected.getSettlements(instructionType));
+      assertThat(report.getRankings(instructionType))
+          .isEqualTo(expected.getRankings(instructionType));
+    }
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when a percentage is out of range.")
+  public void testInvalidPercentage() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> new InstructionGenerator(1).buyPercent(101))
+        .withMessage("Percentage should be between 0 and 100.");
+  }
+}
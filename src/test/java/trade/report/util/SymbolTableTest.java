@@ -0,0 +1,49 @@
+package trade.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.calendar.WeekendSettlementCalendar;
+import trade.report.enums.WeekendConvention;
+
+class SymbolTableTest {
+
+  @Test
+  @DisplayName("Should assign dense ids in order of first appearance.")
+  public void testEncode() {
+    final SymbolTable symbolTable = new SymbolTable();
+
+    assertThat(symbolTable.encodeEntity("foo")).isZero();
+    assertThat(symbolTable.encodeEntity("bar")).isEqualTo(1);
+    assertThat(symbolTable.encodeEntity("foo")).isZero();
+    assertThat(symbolTable.encodeCurrency("AED")).isZero();
+    assertThat(symbolTable.getEntityName(1)).isEqualTo("bar");
+    assertThat(symbolTable.getCurrency(0)).isEqualTo("AED");
+  }
+
+  @Test
+  @DisplayName("Should attach the weekend convention to the currency id.")
+  public void testWeekendConvention() {
+    final SymbolTable symbolTable = new SymbolTable();
+    final String[] currencies = {"SGP", "AED", "SAR", "USD"};
+    for (final String currency : currencies) {
+      symbolTable.encodeCurrency(currency);
+    }
+    // Ids encoded straight into the dictionary are resolved too.
+    final int gbp = symbolTable.getCurrencies().encode("GBP");
+
+    assertThat(symbolTable.getWeekendConvention(0)).isEqualTo(WeekendConvention.SATURDAY_SUNDAY);
+    assertThat(symbolTable.getWeekendConvention(1)).isEqualTo(WeekendConvention.FRIDAY_SATURDAY);
+    assertThat(symbolTable.getWeekendConvention(2)).isEqualTo(WeekendConvention.FRIDAY_SATURDAY);
+    assertThat(symbolTable.getWeekendConvention(gbp))
+        .isEqualTo(WeekendConvention.SATURDAY_SUNDAY);
+    for (int currencyId = 0; currencyId < currencies.length; currencyId++) {
+      for (long epochDay = 16_800; epochDay < 16_814; epochDay++) {
+        assertThat(WeekendSettlementCalendar.INSTANCE.actualSettlementEpochDay(epochDay,
+            currencyId, symbolTable)).isEqualTo(WeekendSettlementCalendar.INSTANCE
+            .actualSettlementEpochDay(epochDay, currencies[currencyId]));
+      }
+    }
+  }
+}
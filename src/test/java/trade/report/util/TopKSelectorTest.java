@@ -0,0 +1,51 @@
+package trade.report.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopKSelectorTest {
+
+  @Test
+  @DisplayName("Should select the highest amounts in descending order keeping position order on ties.")
+  public void testSelect() {
+    final double[] amounts = {5.0, 9.0, 1.0, 9.0, 7.0, 5.0};
+
+    assertThat(TopKSelector.select(amounts, amounts.length, 3)).containsExactly(1, 3, 4);
+    assertThat(TopKSelector.select(amounts, amounts.length, 10))
+        .containsExactly(1, 3, 4, 0, 5, 2);
+    assertThat(TopKSelector.select(amounts, amounts.length, 0)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should agree with a full stable sort for random amounts.")
+  public void testSelectMatchesFullSort() {
+    final Random random = new Random(7);
+    final double[] amounts = new double[10_000];
+    for (int i = 0; i < amounts.length; i++) {
+      amounts[i] = random.nextInt(500);
+    }
+    final int[] sorted = IntStream.range(0, amounts.length).boxed()
+        .sorted(Comparator.comparingDouble((Integer i) -> amounts[i]).reversed())
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    assertThat(TopKSelector.select(amounts, amounts.length, 50))
+        .containsExactly(Arrays.copyOf(sorted, 50));
+  }
+
+  @Test
+  @DisplayName("Should throw IllegalArgument Exception when limit is negative.")
+  public void testSelectWithNegativeLimit() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .as("IllegalArgument Exception is thrown.")
+        .isThrownBy(() -> TopKSelector.select(new double[0], 0, -1))
+        .withMessageContaining("Ranking limit should not be negative.");
+  }
+}
@@ -125,4 +125,29 @@ class TradeReportUtilityTest {
         .as("Trade Instructions is not empty.")
         .hasSize(10);
   }
+
+  @Test
+  @DisplayName("Should return the top entities with their total USD amount, one entry per entity.")
+  public void testCalculateTopRankings() {
+    final List<TradeInstruction> tradeInstructions = List.of(
+        new TradeInstruction("foo", "B", 1.0, "USD", "04 Jan 2016", "04 Jan 2016", 10, 1.0),
+        new TradeInstruction("bar", "B", 1.0, "USD", "04 Jan 2016", "04 Jan 2016", 15, 1.0),
+        new TradeInstruction("foo", "B", 1.0, "USD", "04 Jan 2016", "05 Jan 2016", 10, 1.0),
+        new TradeInstruction("moo", "B", 1.0, "USD", "04 Jan 2016", "05 Jan 2016", 5, 1.0),
+        new TradeInstruction("zoo", "S", 1.0, "USD", "04 Jan 2016", "05 Jan 2016", 50, 1.0));
+
+    assertThat(TradeReportUtility.calculateTopRankings(tradeInstructions, InstructionType.BUY, 2))
+        .as("Only the top two outgoing entities are returned.")
+        .containsExactly(entry("foo", 20.0), entry("bar", 15.0));
+  }
+
+  @Test
+  @DisplayName("Should return all rankings of the sample instructions when the limit is large.")
+  public void testCalculateTopRankings_forSampleInstructions() {
+    final List<TradeInstruction> tradeInstructions = TradeReportUtility.getTradeInstructions();
+
+    assertThat(TradeReportUtility.calculateTopRankings(tradeInstructions, InstructionType.BUY, 50))
+        .containsExactlyElementsOf(
+            TradeReportUtility.calculateRankings(tradeInstructions, InstructionType.BUY));
+  }
 }
\ No newline at end of file
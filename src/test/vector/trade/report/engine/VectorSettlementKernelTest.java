@@ -0,0 +1,64 @@
+package trade.report.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import trade.report.enums.InstructionType;
+import trade.report.model.InstructionBatch;
+
+class VectorSettlementKernelTest {
+
+  private static final int DAYS = 31;
+
+  @Test
+  @DisplayName("Should sum the same amounts as the scalar kernel.")
+  public void testSumByTypeAndDay_matchesScalarKernel() {
+    final Random random = new Random(42);
+    final InstructionBatch batch = new InstructionBatch();
+    for (int i = 0; i < 10_007; i++) {
+      batch.add(random.nextBoolean() ? InstructionType.BUY : InstructionType.SELL, "foo", "USD",
+          random.nextInt(32) / 8.0, random.nextInt(100_000),
+          (random.nextInt(2_000_000_001) - 1_000_000_000) / 1_000_000.0, random.nextInt(DAYS));
+    }
+
+    assertThat(sum(new VectorSettlementKernel(), batch)).isEqualTo(sum(batch));
+  }
+
+  @Test
+  @DisplayName("Should leave batches with more days than fit the lane copies to the scalar kernel.")
+  public void testSumByTypeAndDay_withWideDateSpan() {
+    final InstructionBatch batch = new InstructionBatch();
+    batch.add(InstructionType.BUY, "foo", "USD", 1.0, 10, 1.0, 0);
+    final int days = 1 << 20;
+    final long[] sums = new long[InstructionType.values().length * days];
+
+    assertThat(new VectorSettlementKernel().sumByTypeAndDay(batch, 0, days, sums)).isFalse();
+    assertThat(sums[0]).isZero();
+  }
+
+  @Test
+  @DisplayName("Should leave sums that overflow to the scalar kernel without changing them.")
+  public void testSumByTypeAndDay_withOverflow() {
+    final InstructionBatch batch = new InstructionBatch();
+    for (int i = 0; i < 8; i++) {
+      batch.add(InstructionType.SELL, "foo", "USD", 1.0, 10, 1.0, 0);
+    }
+    final long[] sums = new long[InstructionType.values().length * DAYS];
+    sums[DAYS] = Long.MAX_VALUE - 1;
+
+    assertThat(new VectorSettlementKernel().sumByTypeAndDay(batch, 0, DAYS, sums)).isFalse();
+    assertThat(sums[DAYS]).isEqualTo(Long.MAX_VALUE - 1);
+  }
+
+  private static long[] sum(final InstructionBatch batch) {
+    return sum(ScalarSettlementKernel.INSTANCE, batch);
+  }
+
+  private static long[] sum(final SettlementKernel kernel, final InstructionBatch batch) {
+    final long[] sums = new long[InstructionType.values().length * DAYS];
+    assertThat(kernel.sumByTypeAndDay(batch, 0, DAYS, sums)).isTrue();
+    return sums;
+  }
+}